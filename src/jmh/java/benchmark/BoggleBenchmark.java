@@ -0,0 +1,74 @@
+package benchmark;
+
+import boggle.BoggleBoard;
+import dictionary.Dictionary;
+import dictionary.PrefixTree;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures BoggleBoard.findValidWords on the sample boards and on larger random boards.
+ *  A board named "random-NxN" is an N by N board of random letters (always the same ones, the seed is fixed). */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoggleBenchmark {
+    // Letters to draw random cells from, roughly in proportion to how often they appear in English words
+    private static final String LETTERS = "EEEEEEEEEEEETTTTTTTTTAAAAAAAAOOOOOOOIIIIIIINNNNNNNSSSSSSHHHHHHRRRRRRDDDDLLLLCCCUUUMMMWWFFGGYYPPBVKJXQZ";
+    private static final long SEED = 545;
+
+    @Param({"input/small.txt", "input/large.txt"})
+    public String wordFile;
+
+    @Param({"input/board1.txt", "input/board2.txt", "input/board3.txt", "input/board4.txt", "input/board5.txt",
+            "random-5x5", "random-10x10", "random-30x30"})
+    public String board;
+
+    private BoggleBoard boggleBoard;
+
+    @Setup
+    public void setUp() {
+        Dictionary dict = new PrefixTree(wordFile);
+        if (board.startsWith("random-")) {
+            int size = Integer.parseInt(board.substring(board.indexOf('-') + 1, board.indexOf('x')));
+            boggleBoard = new BoggleBoard(randomLetters(size, new Random(SEED)), dict);
+        } else {
+            boggleBoard = new BoggleBoard(board, dict);
+        }
+    }
+
+    /** Returns a size by size board of random letters */
+    private static String[][] randomLetters(int size, Random random) {
+        String[][] letters = new String[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                letters[row][column] = String.valueOf(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            }
+        }
+        return letters;
+    }
+
+    @Benchmark
+    public Set<String> findValidWords() {
+        return boggleBoard.findValidWords();
+    }
+
+    @Benchmark
+    public Set<String> findValidWordsParallel() {
+        return boggleBoard.findValidWordsParallel();
+    }
+}
@@ -0,0 +1,108 @@
+package benchmark;
+
+import dictionary.PrefixTree;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures the cost of building a PrefixTree and of each Dictionary operation.
+ *  Every lookup benchmark takes the next word from the word file, so the numbers are
+ *  averages over the whole dictionary rather than over one lucky word. */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DictionaryBenchmark {
+
+    @Param({"input/small.txt", "input/large.txt"})
+    public String wordFile;
+
+    private PrefixTree tree;
+    private String[] words; // every word in the file
+    private String[] prefixes; // the first half of every word
+    private String[] misspellings; // every word with its last letter replaced
+    private int next; // index of the word the next call uses
+
+    @Setup
+    public void setUp() throws IOException {
+        tree = new PrefixTree(wordFile);
+        List<String> lines = Files.readAllLines(Paths.get(wordFile));
+        words = lines.toArray(new String[0]);
+        prefixes = new String[words.length];
+        misspellings = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            prefixes[i] = word.substring(0, (word.length() + 1) / 2);
+            char last = word.charAt(word.length() - 1);
+            misspellings[i] = word.substring(0, word.length() - 1) + (last == 'z' ? 'q' : 'z');
+        }
+    }
+
+    /** Returns the index of the word for the next call, cycling through the file */
+    private int nextIndex() {
+        int index = next;
+        next = index + 1 == words.length ? 0 : index + 1;
+        return index;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public PrefixTree build() {
+        return new PrefixTree(wordFile);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public PrefixTree buildParallel() {
+        return PrefixTree.loadParallel(wordFile);
+    }
+
+    @Benchmark
+    public boolean check() {
+        return tree.check(words[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean checkPrefix() {
+        return tree.checkPrefix(prefixes[nextIndex()]);
+    }
+
+    @Benchmark
+    public String suggest() {
+        return tree.suggest(misspellings[nextIndex()]);
+    }
+
+    /** Top 10 completions of the first half of a word */
+    @Benchmark
+    public List<String> complete() {
+        return tree.complete(prefixes[nextIndex()], 10);
+    }
+
+    /** Deletes a word and adds it back, so that the tree is the same for every call */
+    @Benchmark
+    public PrefixTree deleteAndAdd() {
+        String word = words[nextIndex()];
+        tree.delete(word);
+        tree.add(word);
+        return tree;
+    }
+}
@@ -0,0 +1,97 @@
+package boggle;
+
+import java.util.Random;
+
+/** Makes random Boggle boards the way the game does: by shaking dice into the grid.
+ *  Boards of up to 16 cells use the 16 dice of Boggle, bigger ones the 25 dice of Big Boggle.
+ *  A board with more cells than there are dice takes a new set of dice for every set it runs out of,
+ *  so letters keep the frequencies of the game at any size. The Q face of a die is the tile "Qu".
+ *  The same seed always gives the same boards. */
+public class BoardGenerator {
+    // The faces of each die of Boggle (4x4)
+    private static final String[] CLASSIC_DICE = {
+            "AAEEGN", "ABBJOO", "ACHOPS", "AFFKPS", "AOOTTW", "CIMOTU", "DEILRX", "DELRVY",
+            "DISTTY", "EEGHNW", "EEINSU", "EHRTVW", "EIOSST", "ELRTTY", "HIMNQU", "HLNNRZ"};
+
+    // The faces of each die of Big Boggle (5x5)
+    private static final String[] BIG_DICE = {
+            "AAAFRS", "AAEEEE", "AAFIRS", "ADENNN", "AEEEEM", "AEEGMU", "AEGMNN", "AFIRSY", "BJKQXZ",
+            "CCENST", "CEIILT", "CEILPT", "CEIPST", "DDHNOT", "DHHLOR", "DHLNOR", "DHLNOR", "EIIITT",
+            "EMOTTT", "ENSSSU", "FIPRSY", "GORRVW", "IPRRRY", "NOOTUW", "OOOTTU"};
+
+    private final Random random;
+
+    /**
+     * Creates a generator
+     * @param seed the seed of the random numbers; the same seed gives the same boards
+     */
+    public BoardGenerator(long seed) {
+        random = new Random(seed);
+    }
+
+    /**
+     * Makes the next board
+     * @param height number of rows
+     * @param width  number of columns
+     * @return letters[row][column] is the text on the cell in the given row and column
+     */
+    public String[][] next(int height, int width) {
+        String[] dice = height * width <= CLASSIC_DICE.length ? CLASSIC_DICE : BIG_DICE;
+        int[] order = new int[dice.length];
+        int rolled = dice.length; // number of dice of the current set already placed
+
+        // Each cell is rolled as soon as its die is placed, so a set of dice is only shaken when it runs out
+        String[][] letters = new String[height][width];
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                if (rolled == dice.length) {
+                    shuffle(order);
+                    rolled = 0;
+                }
+                letters[row][column] = roll(dice[order[rolled++]]);
+            }
+        }
+        return letters;
+    }
+
+    /**
+     * Puts dice into the cells of a board in a random order
+     * @param cells number of cells of the board
+     * @return the faces of the die in each cell (one of the strings in CLASSIC_DICE or BIG_DICE)
+     */
+    String[] shake(int cells) {
+        String[] dice = cells <= CLASSIC_DICE.length ? CLASSIC_DICE : BIG_DICE;
+        int[] order = new int[dice.length];
+        int rolled = dice.length; // number of dice of the current set already placed
+        String[] result = new String[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            if (rolled == dice.length) {
+                shuffle(order);
+                rolled = 0;
+            }
+            result[cell] = dice[order[rolled++]];
+        }
+        return result;
+    }
+
+    /**
+     * Rolls a die
+     * @param die the faces of the die
+     * @return the text of the face that came up ("Qu" for Q)
+     */
+    String roll(String die) {
+        char face = die.charAt(random.nextInt(die.length()));
+        return face == 'Q' ? "Qu" : String.valueOf(face);
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /** Fills the array with 0..length-1 in a random order (shaking the dice into the grid) */
+    private void shuffle(int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package boggle;
+
+import dictionary.PrefixTree;
+import dictionary.TrieDictionary;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/** Searches for Boggle boards with as many words, or as many points, as possible, by simulated annealing.
+ *  A board is a set of dice in the cells, each showing one of its faces (see BoardGenerator), so every board
+ *  found can be rolled in the game. A chain starts from a random board and makes one change per step: it swaps
+ *  the dice of two cells, or rolls the die of one cell again. A change that does not lower the score is kept;
+ *  one that lowers it by d is kept with probability exp(-d / T), where the temperature T falls geometrically
+ *  from the start temperature to the end temperature over the steps of the chain, so the chain roams at first
+ *  and only climbs at the end. A changed board is not solved again: BoggleBoard.setCell follows only the paths
+ *  through the changed cells. The chains are independent, and run at the same time on a fork-join pool;
+ *  chain k has the seed seed + k, so the results do not depend on the number of threads. */
+public class BoardOptimizer {
+    private static final double START_TEMPERATURE = 10;
+    private static final double END_TEMPERATURE = 0.1;
+
+    private final TrieDictionary dict; // the words of the boards
+    private final int height; // size of the boards
+    private final int width;
+    private final Objective objective;
+    private final double startTemperature;
+    private final double endTemperature;
+
+    /** What the search tries to get as much of */
+    public enum Objective {
+        /** The number of words of at least BoggleBoard.MIN_WORD_LENGTH letters */
+        WORDS,
+        /** The total of BoggleBoard.score over the words */
+        POINTS
+    }
+
+    /** The best board a chain found */
+    public static final class Result {
+        private final String[][] letters;
+        private final int score;
+        private final Set<String> words;
+
+        Result(String[][] letters, int score, Set<String> words) {
+            this.letters = letters;
+            this.score = score;
+            this.words = words;
+        }
+
+        /**
+         * Returns the board
+         * @return letters[row][column] is the text on the cell in the given row and column
+         */
+        public String[][] letters() {
+            return letters;
+        }
+
+        /**
+         * Returns the score of the board for the objective of the search
+         * @return number of words, or points
+         */
+        public int score() {
+            return score;
+        }
+
+        /**
+         * Returns the words on the board that count for the score
+         * @return the words, in alphabetical order
+         */
+        public Set<String> words() {
+            return words;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder();
+            for (String[] row : letters) {
+                result.append(String.join("\t", row)).append(System.lineSeparator());
+            }
+            return result.append("score: ").append(score).append(", ").append(words.size()).append(" words: ")
+                    .append(words).append(System.lineSeparator()).toString();
+        }
+    } // end of class Result
+
+    // --------- Private class Chain ------------
+    /* One annealing chain, from a random board */
+    private class Chain extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+        private final long seed;
+        private final long steps;
+
+        Chain(long seed, long steps) {
+            this.seed = seed;
+            this.steps = steps;
+        }
+
+        @Override
+        protected Result compute() {
+            Random random = new Random(seed);
+            BoardGenerator generator = new BoardGenerator(random.nextLong());
+            int cells = height * width;
+            String[] dice = generator.shake(cells); // dice[cell] is the die in the cell
+            String[] faces = new String[cells]; // faces[cell] is the face of the die that is up
+            String[][] letters = new String[height][width];
+            for (int cell = 0; cell < cells; cell++) {
+                faces[cell] = generator.roll(dice[cell]);
+                letters[cell / width][cell % width] = faces[cell];
+            }
+            BoggleBoard board = new BoggleBoard(letters, dict);
+            int score = score(board);
+            int bestScore = score;
+            String[] best = faces.clone();
+
+            double temperature = startTemperature;
+            double cooling = steps > 1 ? Math.pow(endTemperature / startTemperature, 1.0 / (steps - 1)) : 1;
+            for (long step = 0; step < steps; step++, temperature *= cooling) {
+                int first = random.nextInt(cells);
+                int second = -1; // the other cell of a swap
+                String old = faces[first];
+                if (cells > 1 && random.nextBoolean()) {
+                    second = (first + 1 + random.nextInt(cells - 1)) % cells;
+                    swap(board, dice, faces, first, second);
+                } else {
+                    faces[first] = generator.roll(dice[first]);
+                    if (!faces[first].equals(old)) {
+                        board.setCell(first, faces[first]);
+                    }
+                }
+
+                int next = score(board);
+                if (next >= score || random.nextDouble() < Math.exp((next - score) / temperature)) {
+                    score = next;
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = faces.clone();
+                    }
+                } else if (second >= 0) {
+                    swap(board, dice, faces, first, second);
+                } else if (!faces[first].equals(old)) {
+                    faces[first] = old;
+                    board.setCell(first, old);
+                }
+            }
+            return result(best);
+        }
+    } // end of inner class Chain
+
+    /**
+     * Creates an optimizer that cools from temperature 10 to 0.1
+     * @param dict      the words of the boards
+     * @param height    number of rows of the boards
+     * @param width     number of columns of the boards
+     * @param objective what to get as much of
+     */
+    public BoardOptimizer(TrieDictionary dict, int height, int width, Objective objective) {
+        this(dict, height, width, objective, START_TEMPERATURE, END_TEMPERATURE);
+    }
+
+    /**
+     * Creates an optimizer
+     * @param dict             the words of the boards
+     * @param height           number of rows of the boards
+     * @param width            number of columns of the boards
+     * @param objective        what to get as much of
+     * @param startTemperature temperature of the first step; a step that loses this much score is kept
+     *                         about a third of the time
+     * @param endTemperature   temperature of the last step, at most startTemperature
+     */
+    public BoardOptimizer(TrieDictionary dict, int height, int width, Objective objective,
+                          double startTemperature, double endTemperature) {
+        if (height <= 0 || width <= 0) {
+            throw new IllegalArgumentException("A board needs at least one cell: " + height + "x" + width);
+        }
+        if (!(endTemperature > 0 && endTemperature <= startTemperature)) {
+            throw new IllegalArgumentException("The temperatures must have 0 < end <= start: "
+                    + startTemperature + ", " + endTemperature);
+        }
+        this.dict = dict;
+        this.height = height;
+        this.width = width;
+        this.objective = objective;
+        this.startTemperature = startTemperature;
+        this.endTemperature = endTemperature;
+    }
+
+    /**
+     * Runs annealing chains on the common fork-join pool (one thread per core)
+     * @param chains number of chains
+     * @param steps  number of changes each chain tries
+     * @param seed   chain k starts from the random numbers of seed + k
+     * @return the best board of each chain, the best first
+     */
+    public List<Result> optimize(int chains, long steps, long seed) {
+        return optimize(chains, steps, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs annealing chains; each chain is a task on the given pool
+     * @param chains number of chains
+     * @param steps  number of changes each chain tries
+     * @param seed   chain k starts from the random numbers of seed + k
+     * @param pool   the threads to run the chains on
+     * @return the best board of each chain, the best first
+     */
+    public List<Result> optimize(int chains, long steps, long seed, ForkJoinPool pool) {
+        List<Chain> tasks = new ArrayList<>();
+        for (int k = 0; k < chains; k++) {
+            tasks.add(new Chain(seed + k, steps));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        List<Result> results = new ArrayList<>();
+        for (Chain task : tasks) {
+            results.add(task.join());
+        }
+        results.sort(Comparator.comparingInt(Result::score).reversed());
+        return results;
+    }
+
+    /**
+     * Searches for good boards from the command line, and prints the best ones
+     * @param args [chains] [steps] [size] [words|points] [seed] [word file]; the defaults are
+     *             one chain per core of 100000 steps, 4x4 boards, points, seed 545, input/large.txt
+     */
+    public static void main(String[] args) {
+        int chains = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long steps = args.length > 1 ? Long.parseLong(args[1]) : 100_000;
+        int size = args.length > 2 ? Integer.parseInt(args[2]) : BoggleBoard.BOARD_WIDTH;
+        Objective objective = args.length > 3 ? Objective.valueOf(args[3].toUpperCase()) : Objective.POINTS;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 545;
+        String wordFile = args.length > 5 ? args[5] : "input/large.txt";
+
+        TrieDictionary dict = new PrefixTree(wordFile);
+        System.out.println("Running " + chains + " chain(s) of " + steps + " steps on " + size + "x" + size
+                + " boards for the most " + objective.toString().toLowerCase() + " with " + wordFile);
+        List<Result> results = new BoardOptimizer(dict, size, size, objective).optimize(chains, steps, seed);
+        for (int i = 0; i < Math.min(3, results.size()); i++) {
+            System.out.println(results.get(i));
+        }
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /** Returns the score of the board for the objective, as setCell keeps it */
+    private int score(BoggleBoard board) {
+        return objective == Objective.WORDS ? board.countScoringWords() : board.countPoints();
+    }
+
+    /** Swaps the dice of two cells, with the faces that are up */
+    private static void swap(BoggleBoard board, String[] dice, String[] faces, int first, int second) {
+        String die = dice[first];
+        dice[first] = dice[second];
+        dice[second] = die;
+        String face = faces[first];
+        faces[first] = faces[second];
+        faces[second] = face;
+        if (!faces[first].equals(faces[second])) {
+            board.setCell(first, faces[first]);
+            board.setCell(second, faces[second]);
+        }
+    }
+
+    /**
+     * Solves a board found by a chain once more, for the words that count
+     * @param faces faces[cell] is the text on the cell
+     * @return the board, its score and its words
+     */
+    private Result result(String[] faces) {
+        String[][] letters = new String[height][width];
+        for (int cell = 0; cell < faces.length; cell++) {
+            letters[cell / width][cell % width] = faces[cell];
+        }
+        Set<String> words = new TreeSet<>();
+        int points = 0;
+        for (String word : new BoggleBoard(letters, dict).findValidWords()) {
+            if (word.length() >= BoggleBoard.MIN_WORD_LENGTH) {
+                words.add(word);
+                points += BoggleBoard.score(word);
+            }
+        }
+        return new Result(letters, objective == Objective.WORDS ? words.size() : points, words);
+    }
+}
@@ -1,12 +1,25 @@
 package boggle;
 import dictionary.Dictionary;
 import dictionary.PrefixTree;
+import java.util.Arrays;
 
 /**
- * Driver class for playing Boggle
+ * Driver class for playing Boggle.
+ * With the argument "load", it runs a load test instead of a game:
+ * load [boards] [size] [threads] [seed] [word file] (see BoggleLoadTest).
+ * With the argument "optimize", it searches for the best boards instead:
+ * optimize [chains] [steps] [size] [words|points] [seed] [word file] (see BoardOptimizer).
  */
 public class BoggleDriver {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && args[0].equals("load")) {
+            BoggleLoadTest.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("optimize")) {
+            BoardOptimizer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         Dictionary dict = new PrefixTree("input/small.txt");
         BoggleBoard board = new BoggleBoard("input/board1.txt", dict);
         board.play();
@@ -0,0 +1,310 @@
+package boggle;
+
+import dictionary.Dictionary;
+import dictionary.PrefixTree;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Measures how many Boggle boards a machine can solve: generates random boards with BoardGenerator,
+ *  solves each with BoggleBoard.findValidWords() on a number of threads, and reports the throughput,
+ *  the latency of a board (median and 99th percentile), the words found per board, and the garbage
+ *  collections during the run. Latencies are kept in a histogram with 32 buckets per power of two,
+ *  so memory does not grow with the number of boards and percentiles are within about 3%.
+ *  Run it with BoggleDriver load [boards] [size] [threads] [seed] [word file]. */
+public class BoggleLoadTest {
+    private final Dictionary dict; // the words all boards are solved against
+    private final int height; // size of the boards
+    private final int width;
+    private final long seed; // worker k generates its boards with seed + k
+    private final int threads;
+
+    /** What a run measured */
+    public static final class Report {
+        private final long boards;
+        private final double seconds;
+        private final long p50Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+        private final double meanWords;
+        private final long gcCount;
+        private final long gcMillis;
+
+        Report(long boards, double seconds, long p50Nanos, long p99Nanos, long maxNanos, double meanWords,
+               long gcCount, long gcMillis) {
+            this.boards = boards;
+            this.seconds = seconds;
+            this.p50Nanos = p50Nanos;
+            this.p99Nanos = p99Nanos;
+            this.maxNanos = maxNanos;
+            this.meanWords = meanWords;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        /**
+         * Returns the number of boards that were solved (not counting the warm-up)
+         * @return number of boards
+         */
+        public long boards() {
+            return boards;
+        }
+
+        /**
+         * Returns the number of boards solved per second, on all threads together, including the time to generate them
+         * @return boards per second
+         */
+        public double boardsPerSecond() {
+            return boards / seconds;
+        }
+
+        /**
+         * Returns the median time to solve one board (creating the BoggleBoard and finding its words)
+         * @return median latency in nanoseconds
+         */
+        public long p50Nanos() {
+            return p50Nanos;
+        }
+
+        /**
+         * Returns the 99th percentile of the time to solve one board
+         * @return 99th percentile latency in nanoseconds
+         */
+        public long p99Nanos() {
+            return p99Nanos;
+        }
+
+        /**
+         * Returns the longest time to solve one board
+         * @return maximum latency in nanoseconds
+         */
+        public long maxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Returns the average number of words found on a board
+         * @return words per board
+         */
+        public double meanWords() {
+            return meanWords;
+        }
+
+        /**
+         * Returns the number of garbage collections during the run
+         * @return number of collections, over all collectors
+         */
+        public long gcCount() {
+            return gcCount;
+        }
+
+        /**
+         * Returns the time the collectors report for the run; for stop-the-world collectors, this is the pause time
+         * @return collection time in milliseconds, over all collectors
+         */
+        public long gcMillis() {
+            return gcMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("boards:          %d in %.2f s%n", boards, seconds)
+                    + String.format("boards/sec:      %.0f%n", boardsPerSecond())
+                    + String.format("latency p50:     %.1f us%n", p50Nanos / 1e3)
+                    + String.format("latency p99:     %.1f us%n", p99Nanos / 1e3)
+                    + String.format("latency max:     %.1f us%n", maxNanos / 1e3)
+                    + String.format("words per board: %.1f%n", meanWords)
+                    + String.format("GC:              %d collections, %d ms%n", gcCount, gcMillis);
+        }
+    } // end of class Report
+
+    // --------- Private class Histogram ------------
+    /* Counts latencies in buckets: values below 32 have a bucket each, and every power of two above
+     * is split into 32 buckets, so a bucket is at most 1/32 of its values wide */
+    private static class Histogram {
+        private static final int SUB_BUCKETS = 32;
+        final long[] counts = new long[59 * SUB_BUCKETS]; // enough for any positive long
+        long total;
+        long max;
+
+        void record(long value) {
+            counts[index(Math.max(value, 0))]++;
+            total++;
+            max = Math.max(max, value);
+        }
+
+        void add(Histogram other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            total += other.total;
+            max = Math.max(max, other.max);
+        }
+
+        /* Returns the largest value of the bucket that holds the given fraction of the values at or below it */
+        long percentile(double fraction) {
+            long rank = Math.max(1, (long) Math.ceil(fraction * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(max, highest(i));
+                }
+            }
+            return max;
+        }
+
+        static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value); // 2^exponent <= value < 2^(exponent + 1)
+            int shift = exponent - 5;
+            return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+        }
+
+        static long highest(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / SUB_BUCKETS - 1;
+            long top = index % SUB_BUCKETS + SUB_BUCKETS;
+            return ((top + 1) << shift) - 1;
+        }
+    } // end of inner class Histogram
+
+    // --------- Private class Worker ------------
+    /* Generates and solves boards on one thread */
+    private class Worker extends Thread {
+        private final BoardGenerator generator;
+        private final long boards;
+        private final Histogram latencies = new Histogram();
+        private long words; // total number of words found
+        private Throwable failure;
+
+        Worker(long seed, long boards) {
+            this.generator = new BoardGenerator(seed);
+            this.boards = boards;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (long i = 0; i < boards; i++) {
+                    String[][] letters = generator.next(height, width);
+                    long start = System.nanoTime();
+                    int found = new BoggleBoard(letters, dict).findValidWords().size();
+                    latencies.record(System.nanoTime() - start);
+                    words += found;
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+    } // end of inner class Worker
+
+    /**
+     * Creates a load test
+     * @param dict    the words to solve the boards against; must not change during a run
+     * @param height  number of rows of each board
+     * @param width   number of columns of each board
+     * @param seed    the seed of the boards; the same seed gives the same boards
+     * @param threads number of threads that solve boards at the same time
+     */
+    public BoggleLoadTest(Dictionary dict, int height, int width, long seed, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive: " + threads);
+        }
+        this.dict = dict;
+        this.height = height;
+        this.width = width;
+        this.seed = seed;
+        this.threads = threads;
+    }
+
+    /**
+     * Solves boards and measures the run
+     * @param boards       number of boards to measure, split evenly between the threads
+     * @param warmupBoards number of boards to solve first, without measuring them, so the JIT compiler
+     *                     has compiled the solver before the measured boards
+     * @return what was measured
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+     */
+    public Report run(long boards, long warmupBoards) throws InterruptedException {
+        runWorkers(warmupBoards, seed - threads); // different boards from the measured ones
+
+        long gcCountBefore = 0;
+        long gcMillisBefore = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCountBefore += Math.max(0, gc.getCollectionCount());
+            gcMillisBefore += Math.max(0, gc.getCollectionTime());
+        }
+        long start = System.nanoTime();
+        List<Worker> workers = runWorkers(boards, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long gcCount = -gcCountBefore;
+        long gcMillis = -gcMillisBefore;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+
+        Histogram latencies = new Histogram();
+        long words = 0;
+        for (Worker worker : workers) {
+            latencies.add(worker.latencies);
+            words += worker.words;
+        }
+        return new Report(boards, seconds, latencies.percentile(0.5), latencies.percentile(0.99), latencies.max,
+                boards == 0 ? 0 : (double) words / boards, gcCount, gcMillis);
+    }
+
+    /**
+     * Runs the load test from the command line and prints the report
+     * @param args [boards] [size] [threads] [seed] [word file]; the defaults are
+     *             1000000 4x4 boards on one thread per core, seed 545, input/large.txt
+     * @throws InterruptedException if the main thread is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long boards = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : BoggleBoard.BOARD_WIDTH;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 545;
+        String wordFile = args.length > 4 ? args[4] : "input/large.txt";
+
+        Dictionary dict = new PrefixTree(wordFile);
+        System.out.println("Solving " + boards + " " + size + "x" + size + " boards against " + wordFile
+                + " on " + threads + " thread(s)");
+        BoggleLoadTest test = new BoggleLoadTest(dict, size, size, seed, threads);
+        System.out.print(test.run(boards, Math.min(boards, 20_000)));
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /**
+     * Splits the boards between the threads, and waits until they are all solved
+     * @param boards number of boards to solve
+     * @param seed   worker k generates its boards with seed + k
+     * @return the workers, with what they measured
+     */
+    private List<Worker> runWorkers(long boards, long seed) throws InterruptedException {
+        List<Worker> workers = new ArrayList<>();
+        for (int k = 0; k < threads; k++) {
+            // The first boards % threads workers take one board more
+            workers.add(new Worker(seed + k, boards / threads + (k < boards % threads ? 1 : 0)));
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+        for (Worker worker : workers) {
+            worker.join();
+        }
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw new IllegalStateException("A worker failed to solve its boards", worker.failure);
+            }
+        }
+        return workers;
+    }
+}
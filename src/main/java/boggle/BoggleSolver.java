@@ -0,0 +1,126 @@
+package boggle;
+
+import dictionary.Dictionary;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/** Solves many Boggle boards at once, on all cores of the machine.
+ *  All boards are solved against one shared dictionary, which must not be changed
+ *  while a batch is being solved. */
+public class BoggleSolver {
+    private static final int BOARDS_PER_TASK = 16; // a task solves this many boards itself instead of splitting further
+
+    private final Dictionary dict; // dictionary shared by all boards
+    private final ForkJoinPool pool; // threads that solve the boards
+
+    // --------- Private class SolveTask ------------
+    /* Solves boards[from..to-1] and stores their words in results; splits in half while the range is large */
+    private static class SolveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final List<BoggleBoard> boards;
+        private final List<Set<String>> results;
+        private final int from;
+        private final int to;
+
+        SolveTask(List<BoggleBoard> boards, List<Set<String>> results, int from, int to) {
+            this.boards = boards;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BOARDS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    results.set(i, boards.get(i).findValidWords());
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SolveTask(boards, results, from, middle), new SolveTask(boards, results, middle, to));
+        }
+    } // end of inner class SolveTask
+
+    /**
+     * Creates a solver that uses the common fork-join pool (one thread per core).
+     * @param dict the dictionary to use for checking word validity
+     */
+    public BoggleSolver(Dictionary dict) {
+        this(dict, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a solver that runs on the given pool.
+     * @param dict the dictionary to use for checking word validity
+     * @param pool the threads to solve boards on
+     */
+    public BoggleSolver(Dictionary dict, ForkJoinPool pool) {
+        this.dict = dict;
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the valid words on each of the given boards.
+     * @param boards boards[k][row][column] is the text on a cell of the k-th board
+     * @return a list with the set of valid words of each board, in the same order as the boards
+     */
+    public List<Set<String>> solve(List<String[][]> boards) {
+        List<BoggleBoard> loaded = new ArrayList<>(boards.size());
+        for (String[][] letters : boards) {
+            loaded.add(new BoggleBoard(letters, dict));
+        }
+        return solveBoards(loaded);
+    }
+
+    /**
+     * Finds the valid words on every board file (board*.txt) in the given directory.
+     * @param directory the directory with the board files
+     * @return a map from the name of each board file to its set of valid words, sorted by file name
+     * @throws IOException if the directory can not be listed
+     */
+    public Map<String, Set<String>> solveDirectory(String directory) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(directory), "board*.txt")) {
+            for (Path file : files) {
+                names.add(file.getFileName().toString());
+            }
+        }
+        names.sort(null);
+
+        List<BoggleBoard> boards = new ArrayList<>(names.size());
+        for (String name : names) {
+            boards.add(new BoggleBoard(Paths.get(directory, name).toString(), dict));
+        }
+        List<Set<String>> words = solveBoards(boards);
+
+        Map<String, Set<String>> results = new TreeMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            results.put(names.get(i), words.get(i));
+        }
+        return results;
+    }
+
+    /**
+     * Solves the boards on the pool
+     * @param boards the boards to solve
+     * @return the set of valid words of each board, in the same order as the boards
+     */
+    private List<Set<String>> solveBoards(List<BoggleBoard> boards) {
+        // Each task fills in its own range
+        List<Set<String>> results = new ArrayList<>(Collections.nCopies(boards.size(), (Set<String>) null));
+        pool.invoke(new SolveTask(boards, results, 0, boards.size()));
+        return results;
+    }
+}
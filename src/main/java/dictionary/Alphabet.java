@@ -0,0 +1,87 @@
+package dictionary;
+
+import java.util.Arrays;
+
+/** The letters a UnicodePrefixTree can store, and the order it keeps them in.
+ *  Each letter has an index, from 0 to size() - 1; upper and lower case forms of a letter share an index.
+ *  Small alphabets (a language's letters, maybe with an apostrophe or digits) let the tree
+ *  give every node a dense array of children; UNICODE takes any character, and the tree then keeps
+ *  sorted children instead. */
+public final class Alphabet {
+
+    /** The 26 English letters, a to z. Upper case letters are treated as lower case ones. */
+    public static final Alphabet ENGLISH = of("abcdefghijklmnopqrstuvwxyz");
+
+    /** Every char. Letters are folded to lower case; index order is the order of the (lower case) chars. */
+    public static final Alphabet UNICODE = new Alphabet(null);
+
+    private final char[] letters; // letters[i] is the letter with index i, or null for UNICODE
+    private final int[] indexes; // indexes[ch] is the index of the letter ch (either case), or -1
+
+    /**
+     * Creates an alphabet with the given letters, in the given order.
+     * Letters are stored in lower case, and their upper and title case forms map to the same index.
+     * Example: Alphabet.of("abcdefghijklmnopqrstuvwxyz'") also allows apostrophes, as in "don't".
+     * @param letters the letters of the alphabet, in the order the tree should keep them
+     * @return the alphabet
+     * @throws IllegalArgumentException if a letter appears twice (in any case)
+     */
+    public static Alphabet of(String letters) {
+        return new Alphabet(letters.toCharArray());
+    }
+
+    private Alphabet(char[] letters) {
+        if (letters == null) {
+            this.letters = null;
+            this.indexes = null;
+            return;
+        }
+        this.letters = new char[letters.length];
+        int max = 0;
+        for (int i = 0; i < letters.length; i++) {
+            char ch = Character.toLowerCase(letters[i]);
+            this.letters[i] = ch;
+            max = Math.max(max, Math.max(ch, Math.max(Character.toUpperCase(ch), Character.toTitleCase(ch))));
+        }
+        indexes = new int[max + 1];
+        Arrays.fill(indexes, -1);
+        for (int i = 0; i < this.letters.length; i++) {
+            char ch = this.letters[i];
+            if (indexes[ch] >= 0) {
+                throw new IllegalArgumentException("The letter '" + ch + "' appears more than once in the alphabet");
+            }
+            indexes[ch] = i;
+            indexes[Character.toUpperCase(ch)] = i;
+            indexes[Character.toTitleCase(ch)] = i;
+        }
+    }
+
+    /**
+     * Returns the number of letters
+     * @return the number of letters; every index is less than this
+     */
+    public int size() {
+        return letters == null ? Character.MAX_VALUE + 1 : letters.length;
+    }
+
+    /**
+     * Returns the index of the given letter
+     * @param ch a letter, in either case
+     * @return the index of the letter, or -1 if ch is not in the alphabet
+     */
+    public int index(char ch) {
+        if (letters == null) {
+            return Character.toLowerCase(ch);
+        }
+        return ch < indexes.length ? indexes[ch] : -1;
+    }
+
+    /**
+     * Returns the letter with the given index
+     * @param index the index of a letter
+     * @return the letter, in lower case
+     */
+    public char letter(int index) {
+        return letters == null ? (char) index : letters[index];
+    }
+}
@@ -0,0 +1,458 @@
+package dictionary;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/** CompactPrefixTree class, implements Dictionary interface.
+ *  Stores the same prefix tree as PrefixTree, but without Node objects:
+ *  node n is described by the n-th entry of a few parallel primitive arrays.
+ *  Every node keeps a link to its first child and to its next sibling,
+ *  and siblings are kept sorted by letter, so the tree is traversed in the same order as PrefixTree.
+ *  Node 0 is the root. Since the root is never anybody's child or sibling, 0 also means "no node". */
+public class CompactPrefixTree implements TrieDictionary {
+
+    private static final int NONE = 0; // "null" link
+    private static final int ROOT = 0; // index of the root node
+    private static final int INITIAL_CAPACITY = 16;
+
+    private char[] letter; // letter[n] is the letter on the incoming edge of node n
+    private int[] firstChild; // firstChild[n] is the child of n with the smallest letter
+    private int[] nextSibling; // nextSibling[n] is the next child of n's parent (in alphabetical order)
+    private long[] wordBits; // bit n is set if node n marks the end of a valid word
+    private int size; // number of slots used so far (including deleted ones)
+    private int words; // number of words in the tree
+    private int freeList; // deleted nodes, linked through nextSibling, reused by add
+
+    // --------- Private class Cursor ------------
+    /* Walks the tree one edge at a time; keeps the indices of the nodes on the current path */
+    private class Cursor implements TrieCursor {
+        private int[] path = new int[16]; // path[0] is the root, path[depth] is the current node
+        private int depth;
+
+        @Override
+        public boolean advance(char ch) {
+            int child = child(path[depth], ch);
+            if (child == NONE) {
+                return false;
+            }
+            if (depth + 1 == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+            }
+            path[++depth] = child;
+            return true;
+        }
+
+        @Override
+        public void back() {
+            if (depth > 0) {
+                depth--;
+            }
+        }
+
+        @Override
+        public boolean isWord() {
+            return CompactPrefixTree.this.isWord(path[depth]);
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public void reset() {
+            depth = 0;
+        }
+
+        @Override
+        public boolean firstChild() {
+            int child = firstChild[path[depth]];
+            if (child == NONE) {
+                return false;
+            }
+            if (depth + 1 == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+            }
+            path[++depth] = child;
+            return true;
+        }
+
+        @Override
+        public boolean nextSibling() {
+            if (depth == 0 || nextSibling[path[depth]] == NONE) {
+                return false;
+            }
+            path[depth] = nextSibling[path[depth]];
+            return true;
+        }
+
+        @Override
+        public char letter() {
+            return depth == 0 ? 0 : letter[path[depth]];
+        }
+    } // end of inner class Cursor
+
+    public CompactPrefixTree() {
+        letter = new char[INITIAL_CAPACITY];
+        firstChild = new int[INITIAL_CAPACITY];
+        nextSibling = new int[INITIAL_CAPACITY];
+        wordBits = new long[(INITIAL_CAPACITY + 63) / 64];
+        size = 1; // the root
+        freeList = NONE;
+    }
+
+    /**
+     * Creates a compact prefix tree using words from the given file.
+     * The file contains one word per line.
+     * @param filename the name of the file with words
+     */
+    public CompactPrefixTree(String filename) {
+        this();
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                add(line);
+            }
+        } catch (IOException e) {
+            System.out.println("IO error.");
+        }
+        trimToSize();
+    }
+
+    /** Adds a given word to the dictionary.
+     * @param word the word to add to the dictionary
+     */
+    @Override
+    public void add(String word) {
+        // Make sure every letter is valid before changing the tree
+        for (int i = 0; i < word.length(); i++) {
+            if (index(word.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Can not add \"" + word + "\": only English letters are allowed");
+            }
+        }
+
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            char ch = (char) ('a' + index(word.charAt(i)));
+
+            // Find the place of ch among the children of node (they are sorted)
+            int previous = NONE;
+            int child = firstChild[node];
+            while (child != NONE && letter[child] < ch) {
+                previous = child;
+                child = nextSibling[child];
+            }
+
+            // No child for this letter yet - link a new node in between previous and child
+            if (child == NONE || letter[child] != ch) {
+                int created = newNode(ch);
+                nextSibling[created] = child;
+                if (previous == NONE) {
+                    firstChild[node] = created;
+                } else {
+                    nextSibling[previous] = created;
+                }
+                child = created;
+            }
+            node = child;
+        }
+        setWord(node, true);
+    }
+
+    /**
+     * Checks if a given word is in the dictionary
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean check(String word) {
+        int node = find(word);
+        return node >= 0 && isWord(node);
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the dictionary
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    @Override
+    public boolean checkPrefix(String prefix) {
+        return find(prefix) >= 0;
+    }
+
+    /**
+     * Deletes a given word from the tree, and deletes the branch that only led to this word.
+     * @param word the word to be deleted
+     */
+    @Override
+    public void delete(String word) {
+        // Remember the path, so that we can remove nodes on the way back up
+        int[] path = new int[word.length() + 1];
+        path[0] = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            path[i + 1] = child(path[i], word.charAt(i));
+            if (path[i + 1] == NONE) {
+                return; // word not in tree
+            }
+        }
+
+        int node = path[word.length()];
+        if (!isWord(node)) {
+            return; // word not in tree
+        }
+        setWord(node, false);
+
+        // Remove nodes that are no longer on the path to any word
+        for (int depth = word.length(); depth > 0; depth--) {
+            node = path[depth];
+            if (firstChild[node] != NONE || isWord(node)) {
+                break;
+            }
+            unlink(path[depth - 1], node);
+            freeNode(node);
+        }
+    }
+
+    /**
+     * If the word is a valid word in the tree, return the word.
+     * Otherwise, return the word from the "leftmost" branch below the longest common prefix
+     * of the given word and the tree (the same word PrefixTree would return).
+     * @param word the target word
+     * @return a valid word from the tree that has the longest common prefix with the given word
+     */
+    @Override
+    public String suggest(String word) {
+        // Follow the word as far as the tree allows
+        StringBuilder prefix = new StringBuilder();
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            int child = child(node, word.charAt(i));
+            if (child == NONE) {
+                break;
+            }
+            prefix.append(letter[child]);
+            node = child;
+        }
+
+        // Go down the leftmost branch until we reach a word
+        return leftmostWord(node, prefix) ? prefix.toString() : null;
+    }
+
+    /**
+     * Returns a cursor positioned at the root of this tree.
+     * @return a new cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the number of words in the tree
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return words;
+    }
+
+    /** Return a string representation of the prefix tree,
+     * in the same format as PrefixTree.toString().
+     * @return string, representing the tree.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        toString(ROOT, 0, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Returns an estimate of the number of bytes of heap used by this tree:
+     * the arrays and their headers, including unused capacity.
+     * @return memory footprint in bytes
+     */
+    public long memoryFootprint() {
+        final int arrayHeader = 16;
+        final int objectHeader = 12;
+        return objectHeader + 3 * Integer.BYTES + 4L * 4 // this object: three ints and four array references
+                + arrayHeader + (long) letter.length * Character.BYTES
+                + arrayHeader + (long) firstChild.length * Integer.BYTES
+                + arrayHeader + (long) nextSibling.length * Integer.BYTES
+                + arrayHeader + (long) wordBits.length * Long.BYTES;
+    }
+
+    /**
+     * Shrinks the arrays so that they have no unused capacity at the end.
+     * Useful after loading a dictionary that will not grow.
+     */
+    public void trimToSize() {
+        resize(size);
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /**
+     * Returns the index of the child that corresponds to the given letter.
+     * Upper case letters are treated as lower case ones.
+     * @param ch a letter
+     * @return index of the letter in the alphabet, or -1 if ch is not an English letter
+     */
+    private static int index(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            ch = (char) (ch + ('a' - 'A'));
+        }
+        int index = ch - 'a';
+        return index >= 0 && index < 26 ? index : -1;
+    }
+
+    /**
+     * Finds the child of the node on the edge labeled with the given letter
+     * @param node index of a node
+     * @param ch   letter on the edge
+     * @return index of the child, or NONE if there is no such child
+     */
+    private int child(int node, char ch) {
+        int index = index(ch);
+        if (index < 0) {
+            return NONE;
+        }
+        ch = (char) ('a' + index);
+        int child = firstChild[node];
+        while (child != NONE && letter[child] < ch) { // siblings are sorted, so we can stop early
+            child = nextSibling[child];
+        }
+        return child != NONE && letter[child] == ch ? child : NONE;
+    }
+
+    /**
+     * Follows the letters of the word from the root
+     * @param word the string to follow
+     * @return index of the node at the end of the path, or -1 if there is no such path
+     */
+    private int find(String word) {
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            node = child(node, word.charAt(i));
+            if (node == NONE) {
+                return -1;
+            }
+        }
+        return node;
+    }
+
+    private boolean isWord(int node) {
+        return (wordBits[node >>> 6] & (1L << node)) != 0;
+    }
+
+    private void setWord(int node, boolean value) {
+        if (value != isWord(node)) {
+            words += value ? 1 : -1;
+        }
+        if (value) {
+            wordBits[node >>> 6] |= 1L << node;
+        } else {
+            wordBits[node >>> 6] &= ~(1L << node);
+        }
+    }
+
+    /**
+     * Creates a node (reusing a deleted one if there is any)
+     * @param ch the letter on the incoming edge of the new node
+     * @return index of the new node
+     */
+    private int newNode(char ch) {
+        int node;
+        if (freeList != NONE) {
+            node = freeList;
+            freeList = nextSibling[node];
+        } else {
+            if (size == letter.length) {
+                resize(Math.max(INITIAL_CAPACITY, size * 2));
+            }
+            node = size++;
+        }
+        letter[node] = ch;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        setWord(node, false);
+        return node;
+    }
+
+    /**
+     * Removes the node from the list of children of its parent
+     * @param parent index of the parent
+     * @param node   index of the node to remove
+     */
+    private void unlink(int parent, int node) {
+        if (firstChild[parent] == node) {
+            firstChild[parent] = nextSibling[node];
+            return;
+        }
+        int previous = firstChild[parent];
+        while (nextSibling[previous] != node) {
+            previous = nextSibling[previous];
+        }
+        nextSibling[previous] = nextSibling[node];
+    }
+
+    /** Puts a deleted node on the free list */
+    private void freeNode(int node) {
+        firstChild[node] = NONE;
+        nextSibling[node] = freeList;
+        freeList = node;
+    }
+
+    /** Changes the capacity of all arrays */
+    private void resize(int capacity) {
+        letter = Arrays.copyOf(letter, capacity);
+        firstChild = Arrays.copyOf(firstChild, capacity);
+        nextSibling = Arrays.copyOf(nextSibling, capacity);
+        wordBits = Arrays.copyOf(wordBits, (capacity + 63) / 64);
+    }
+
+    /**
+     * Finds the first word in the subtree of the node, in the order PrefixTree lists them:
+     * the node itself, then the subtrees of its children from left to right.
+     * @param node   root of the subtree
+     * @param prefix letters on the path to node; on success, holds the word that was found
+     * @return true if a word was found
+     */
+    private boolean leftmostWord(int node, StringBuilder prefix) {
+        if (isWord(node)) {
+            return true;
+        }
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            prefix.append(letter[child]);
+            if (leftmostWord(child, prefix)) {
+                return true;
+            }
+            prefix.setLength(prefix.length() - 1); // Backtrack
+        }
+        return false;
+    }
+
+    /**
+     * Appends the subtree of the node to sb: one child per line, indented by its depth,
+     * followed by * if it marks the end of a word
+     * @param node            the root of the subtree
+     * @param numIndentations the number of indentations to print at the current level
+     * @param sb              where to append the result
+     */
+    private void toString(int node, int numIndentations, StringBuilder sb) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            for (int j = 0; j < numIndentations; j++) {
+                sb.append(" ");
+            }
+            sb.append(letter[child]);
+            if (isWord(child)) {
+                sb.append("*");
+            }
+            sb.append(System.lineSeparator());
+            toString(child, numIndentations + 1, sb);
+        }
+    }
+}
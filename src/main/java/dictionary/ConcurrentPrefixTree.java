@@ -0,0 +1,379 @@
+package dictionary;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/** ConcurrentPrefixTree class, implements Dictionary interface.
+ *  A prefix tree that many threads can use at the same time.
+ *  Readers (check, checkPrefix, suggest, cursors) never lock or wait: they read child slots and word flags
+ *  with volatile semantics, so a reader always sees fully built nodes. A reader sees every change that was
+ *  completed before it reached the node the change touched. A reader that is in the middle of a branch when
+ *  delete cuts it off keeps reading the old branch, which is no longer changed by anybody.
+ *  Writers (add, delete) take turns through a lock, so that an add can never hang new nodes
+ *  on a branch that a concurrent delete is removing. Readers never take that lock. */
+public class ConcurrentPrefixTree implements TrieDictionary {
+
+    // --------- Private class Node ------------
+    /* Represents a node in the tree; children are published to readers through an atomic array */
+    private static class Node {
+        final AtomicReferenceArray<Node> children = new AtomicReferenceArray<>(26); // one child per English letter
+        volatile boolean isWord; // true if the path from the root to this node spells a valid word
+    } // end of inner class Node
+
+    // --------- Private class Cursor ------------
+    /* Walks the tree one edge at a time; keeps the nodes on the current path */
+    private class Cursor implements TrieCursor {
+        private Node[] path = new Node[16]; // path[0] is the root, path[depth] is the current node
+        private int[] letters = new int[16]; // letters[d] is the index of the letter on the edge into path[d]
+        private int depth;
+
+        Cursor() {
+            path[0] = root;
+        }
+
+        @Override
+        public boolean advance(char ch) {
+            int index = index(ch);
+            if (index < 0) {
+                return false;
+            }
+            Node child = path[depth].children.get(index);
+            if (child == null) {
+                return false;
+            }
+            push(child, index);
+            return true;
+        }
+
+        @Override
+        public void back() {
+            if (depth > 0) {
+                path[depth--] = null;
+            }
+        }
+
+        @Override
+        public boolean isWord() {
+            return path[depth].isWord;
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public void reset() {
+            while (depth > 0) {
+                path[depth--] = null;
+            }
+        }
+
+        @Override
+        public boolean firstChild() {
+            Node node = path[depth];
+            for (int i = 0; i < 26; i++) {
+                Node child = node.children.get(i);
+                if (child != null) {
+                    push(child, i);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean nextSibling() {
+            if (depth == 0) {
+                return false;
+            }
+            Node parent = path[depth - 1];
+            for (int i = letters[depth] + 1; i < 26; i++) {
+                Node child = parent.children.get(i);
+                if (child != null) {
+                    path[depth] = child;
+                    letters[depth] = i;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public char letter() {
+            return depth == 0 ? 0 : (char) ('a' + letters[depth]);
+        }
+
+        /** Moves down to the given child, which is on the edge with the given letter index */
+        private void push(Node child, int index) {
+            if (depth + 1 == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+                letters = Arrays.copyOf(letters, letters.length * 2);
+            }
+            path[++depth] = child;
+            letters[depth] = index;
+        }
+    } // end of inner class Cursor
+
+    private final Node root = new Node(); // the root of the tree
+    private final ReentrantLock writeLock = new ReentrantLock(); // held by add and delete, never by readers
+    private volatile int size; // number of words in the tree; only changed under writeLock
+
+    public ConcurrentPrefixTree() {
+    }
+
+    /**
+     * Creates a concurrent prefix tree using words from the given file.
+     * The file contains one word per line.
+     * @param filename the name of the file with words
+     */
+    public ConcurrentPrefixTree(String filename) {
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                add(line);
+            }
+        } catch (IOException e) {
+            System.out.println("IO error.");
+        }
+    }
+
+    /** Adds a given word to the dictionary. Readers see the word once its last node is marked.
+     * @param word the word to add to the dictionary
+     */
+    @Override
+    public void add(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (index(word.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Can not add \"" + word + "\": only English letters are allowed");
+            }
+        }
+
+        writeLock.lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < word.length(); i++) {
+                int index = index(word.charAt(i));
+                Node child = node.children.get(index);
+                if (child == null) {
+                    child = new Node();
+                    node.children.set(index, child); // publishes the new node to readers
+                }
+                node = child;
+            }
+            if (!node.isWord) {
+                size++;
+            }
+            node.isWord = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Checks if a given word is in the dictionary. Never blocks.
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean check(String word) {
+        Node node = find(word);
+        return node != null && node.isWord;
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the dictionary. Never blocks.
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    @Override
+    public boolean checkPrefix(String prefix) {
+        return find(prefix) != null;
+    }
+
+    /**
+     * Deletes a given word from the tree, and cuts off the branch that only led to this word.
+     * The word flag is cleared before any branch is cut, so a reader never finds the word after delete returns.
+     * @param word the word to be deleted
+     */
+    @Override
+    public void delete(String word) {
+        writeLock.lock();
+        try {
+            // Remember the path, so that we can remove nodes on the way back up
+            Node[] path = new Node[word.length() + 1];
+            int[] letters = new int[word.length() + 1];
+            path[0] = root;
+            for (int i = 0; i < word.length(); i++) {
+                letters[i + 1] = index(word.charAt(i));
+                if (letters[i + 1] < 0 || (path[i + 1] = path[i].children.get(letters[i + 1])) == null) {
+                    return; // word not in tree
+                }
+            }
+            Node node = path[word.length()];
+            if (!node.isWord) {
+                return; // word not in tree
+            }
+            node.isWord = false;
+            size--;
+
+            // Cut off nodes that are no longer on the path to any word
+            for (int depth = word.length(); depth > 0; depth--) {
+                node = path[depth];
+                if (node.isWord || hasChildren(node)) {
+                    break;
+                }
+                path[depth - 1].children.set(letters[depth], null);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * If the word is a valid word in the tree, return the word.
+     * Otherwise, return the word from the "leftmost" branch below the longest common prefix
+     * of the given word and the tree (the same word PrefixTree would return). Never blocks.
+     * @param word the target word
+     * @return a valid word from the tree that has the longest common prefix with the given word
+     */
+    @Override
+    public String suggest(String word) {
+        StringBuilder prefix = new StringBuilder();
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            int index = index(word.charAt(i));
+            Node child = index < 0 ? null : node.children.get(index);
+            if (child == null) {
+                break;
+            }
+            prefix.append((char) ('a' + index));
+            node = child;
+        }
+        return leftmostWord(node, prefix) ? prefix.toString() : null;
+    }
+
+    /**
+     * Returns a cursor positioned at the root of this tree. Moving a cursor never blocks.
+     * @return a new cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the number of words in the tree. Never blocks.
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Return a string representation of the prefix tree,
+     * in the same format as PrefixTree.toString().
+     * If writers are busy at the same time, the result may show some of their changes and not others.
+     * @return string, representing the tree.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        toString(root, 0, sb);
+        return sb.toString();
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /**
+     * Returns the index of the child that corresponds to the given letter.
+     * Upper case letters are treated as lower case ones.
+     * @param ch a letter
+     * @return index in the array of children, or -1 if ch is not an English letter
+     */
+    private static int index(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            ch = (char) (ch + ('a' - 'A'));
+        }
+        int index = ch - 'a';
+        return index >= 0 && index < 26 ? index : -1;
+    }
+
+    /**
+     * Follows the letters of the word from the root
+     * @param word the string to follow
+     * @return the node at the end of the path, or null if there is no such path
+     */
+    private Node find(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length() && node != null; i++) {
+            int index = index(word.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            node = node.children.get(index);
+        }
+        return node;
+    }
+
+    private static boolean hasChildren(Node node) {
+        for (int i = 0; i < 26; i++) {
+            if (node.children.get(i) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the first word below a node, in "leftmost" order: the node itself,
+     * then the subtrees of its children from left to right.
+     * @param node   the node to start from
+     * @param prefix letters on the path to node; on success, holds the word that was found
+     * @return true if a word was found
+     */
+    private boolean leftmostWord(Node node, StringBuilder prefix) {
+        if (node.isWord) {
+            return true;
+        }
+        for (int i = 0; i < 26; i++) {
+            Node child = node.children.get(i);
+            if (child != null) {
+                prefix.append((char) ('a' + i));
+                if (leftmostWord(child, prefix)) {
+                    return true;
+                }
+                prefix.setLength(prefix.length() - 1); // Backtrack
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends the subtree of the node to sb, in the format of PrefixTree.toString()
+     * @param node            the root of the subtree
+     * @param numIndentations the number of indentations to print at the current level
+     * @param sb              where to append the result
+     */
+    private void toString(Node node, int numIndentations, StringBuilder sb) {
+        for (int i = 0; i < 26; i++) {
+            Node child = node.children.get(i);
+            if (child != null) {
+                for (int j = 0; j < numIndentations; j++) {
+                    sb.append(" ");
+                }
+                sb.append((char) ('a' + i));
+                if (child.isWord) {
+                    sb.append("*");
+                }
+                sb.append(System.lineSeparator());
+                toString(child, numIndentations + 1, sb);
+            }
+        }
+    }
+}
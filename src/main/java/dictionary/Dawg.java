@@ -0,0 +1,554 @@
+package dictionary;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Dawg class, implements Dictionary interface.
+ *  A read-only dictionary stored as a minimal directed acyclic word graph:
+ *  a prefix tree in which equal subtrees (like the ones for "-ing", "-ness" or "-ed")
+ *  are stored only once and shared by all the nodes that lead to them.
+ *  Answers check, checkPrefix, suggest and toString exactly like a PrefixTree with the same words,
+ *  and can be searched by BoggleBoard through its cursor.
+ *  The graph can not be changed once it is built: add and delete throw UnsupportedOperationException.
+ *  To change the words, change the source dictionary and build a new Dawg from it. */
+public class Dawg implements TrieDictionary {
+
+    private static final int ROOT = 0; // index of the root node
+    private static final int NONE = -1; // "null" node
+
+    // The edges of node n are edges edgeStart[n] .. edgeStart[n + 1] - 1, sorted by letter
+    private final int[] edgeStart;
+    private final char[] edgeLetter; // edgeLetter[e] is the letter on edge e
+    private final int[] edgeTarget; // edgeTarget[e] is the node edge e leads to
+    private final long[] wordBits; // bit n is set if node n marks the end of a valid word
+    private final int size; // number of words (a word node can end many words, so this is not the number of bits set)
+
+    // --------- Private class BuildNode ------------
+    /* A node of the graph while it is being built. Two nodes are equal if they are both words or both not,
+     * and have edges with the same letters that lead to the same (already minimized) nodes. */
+    private static class BuildNode {
+        char[] letters = new char[2]; // letters on the outgoing edges, in alphabetical order
+        BuildNode[] targets = new BuildNode[2]; // targets[i] is the node the edge letters[i] leads to
+        int numEdges;
+        boolean isWord;
+        int id = NONE; // index of the node in the final arrays
+
+        /** Adds an edge; its letter must come after the letters of all existing edges */
+        void addEdge(char ch, BuildNode target) {
+            if (numEdges == letters.length) {
+                letters = Arrays.copyOf(letters, numEdges * 2);
+                targets = Arrays.copyOf(targets, numEdges * 2);
+            }
+            letters[numEdges] = ch;
+            targets[numEdges] = target;
+            numEdges++;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BuildNode)) {
+                return false;
+            }
+            BuildNode other = (BuildNode) o;
+            if (isWord != other.isWord || numEdges != other.numEdges) {
+                return false;
+            }
+            for (int i = 0; i < numEdges; i++) {
+                if (letters[i] != other.letters[i] || targets[i] != other.targets[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = isWord ? 1 : 0;
+            for (int i = 0; i < numEdges; i++) {
+                hash = 31 * hash + letters[i];
+                hash = 31 * hash + System.identityHashCode(targets[i]);
+            }
+            return hash;
+        }
+    } // end of inner class BuildNode
+
+    // --------- Private class Cursor ------------
+    /* Walks the graph one edge at a time; keeps the edges on the current path */
+    private class Cursor implements TrieCursor {
+        private int[] path = new int[16]; // path[0] is the root, path[depth] is the current node
+        private int[] edges = new int[16]; // edges[d] is the edge that leads from path[d - 1] to path[d]
+        private int depth;
+
+        @Override
+        public boolean advance(char ch) {
+            int edge = edge(path[depth], ch);
+            if (edge == NONE) {
+                return false;
+            }
+            push(edge);
+            return true;
+        }
+
+        @Override
+        public void back() {
+            if (depth > 0) {
+                depth--;
+            }
+        }
+
+        @Override
+        public boolean isWord() {
+            return Dawg.this.isWord(path[depth]);
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public void reset() {
+            depth = 0;
+        }
+
+        @Override
+        public boolean firstChild() {
+            int node = path[depth];
+            if (edgeStart[node] == edgeStart[node + 1]) {
+                return false;
+            }
+            push(edgeStart[node]);
+            return true;
+        }
+
+        @Override
+        public boolean nextSibling() {
+            if (depth == 0 || edges[depth] + 1 == edgeStart[path[depth - 1] + 1]) {
+                return false;
+            }
+            edges[depth]++;
+            path[depth] = edgeTarget[edges[depth]];
+            return true;
+        }
+
+        @Override
+        public char letter() {
+            return depth == 0 ? 0 : edgeLetter[edges[depth]];
+        }
+
+        /** Follows the given edge down from the current node */
+        private void push(int edge) {
+            if (depth + 1 == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            path[++depth] = edgeTarget[edge];
+            edges[depth] = edge;
+        }
+    } // end of inner class Cursor
+
+    /**
+     * Builds a DAWG with the words from the given file (one word per line).
+     * The file does not have to be sorted, but loading is faster if it is.
+     * @param filename the name of the file with words
+     */
+    public Dawg(String filename) {
+        this(readWords(filename));
+    }
+
+    /**
+     * Builds a DAWG with the same words as the given dictionary.
+     * @param source the dictionary to copy; it is not changed
+     */
+    public Dawg(TrieDictionary source) {
+        this(wordsOf(source));
+    }
+
+    /**
+     * Builds a DAWG from a list of lower case words sorted in alphabetical order.
+     * Uses the incremental algorithm by Daciuk et al.: once a word is added, the part of the previous word
+     * that it does not share can never change again, so its nodes are replaced right away by equal nodes
+     * that were already built (or registered as new ones).
+     * @param sortedWords words sorted in alphabetical order
+     */
+    private Dawg(List<String> sortedWords) {
+        Map<BuildNode, BuildNode> register = new HashMap<>(); // every minimized node, by its contents
+        List<BuildNode> path = new ArrayList<>(); // nodes on the path of the previous word (not minimized yet)
+        path.add(new BuildNode());
+        String previous = null;
+        int words = 0;
+
+        for (String word : sortedWords) {
+            if (word.equals(previous)) {
+                continue; // duplicate
+            }
+            int common = 0;
+            while (previous != null && common < word.length() && common < previous.length()
+                    && word.charAt(common) == previous.charAt(common)) {
+                common++;
+            }
+            minimize(path, common, register);
+
+            BuildNode node = path.get(common);
+            for (int i = common; i < word.length(); i++) {
+                BuildNode child = new BuildNode();
+                node.addEdge(word.charAt(i), child);
+                path.add(child);
+                node = child;
+            }
+            node.isWord = true;
+            previous = word;
+            words++;
+        }
+        minimize(path, 0, register);
+        size = words;
+
+        // Number the nodes (root first), then copy the graph into the arrays
+        List<BuildNode> nodes = new ArrayList<>();
+        BuildNode root = path.get(0);
+        root.id = ROOT;
+        nodes.add(root);
+        int numEdges = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            BuildNode node = nodes.get(i);
+            numEdges += node.numEdges;
+            for (int e = 0; e < node.numEdges; e++) {
+                BuildNode target = node.targets[e];
+                if (target.id == NONE) {
+                    target.id = nodes.size();
+                    nodes.add(target);
+                }
+            }
+        }
+
+        edgeStart = new int[nodes.size() + 1];
+        edgeLetter = new char[numEdges];
+        edgeTarget = new int[numEdges];
+        wordBits = new long[(nodes.size() + 63) / 64];
+        int edge = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            BuildNode node = nodes.get(n);
+            edgeStart[n] = edge;
+            for (int e = 0; e < node.numEdges; e++) {
+                edgeLetter[edge] = node.letters[e];
+                edgeTarget[edge] = node.targets[e].id;
+                edge++;
+            }
+            if (node.isWord) {
+                wordBits[n >>> 6] |= 1L << n;
+            }
+        }
+        edgeStart[nodes.size()] = edge;
+    }
+
+    /**
+     * Not supported: a DAWG can not be changed once it is built.
+     * @param word the word to add to the dictionary
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(String word) {
+        throw new UnsupportedOperationException("A Dawg is read-only; build a new one to add \"" + word + "\"");
+    }
+
+    /**
+     * Checks if a given word is in the dictionary
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean check(String word) {
+        int node = find(word);
+        return node != NONE && isWord(node);
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the dictionary
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    @Override
+    public boolean checkPrefix(String prefix) {
+        return find(prefix) != NONE;
+    }
+
+    /**
+     * Not supported: a DAWG can not be changed once it is built.
+     * @param word the word to be deleted
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void delete(String word) {
+        throw new UnsupportedOperationException("A Dawg is read-only; build a new one to delete \"" + word + "\"");
+    }
+
+    /**
+     * If the word is a valid word in the dictionary, return the word.
+     * Otherwise, return the word from the "leftmost" branch below the longest common prefix
+     * of the given word and the graph (the same word PrefixTree would return).
+     * @param word the target word
+     * @return a valid word from the dictionary that has the longest common prefix with the given word
+     */
+    @Override
+    public String suggest(String word) {
+        // Follow the word as far as the graph allows
+        StringBuilder prefix = new StringBuilder();
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            int edge = edge(node, word.charAt(i));
+            if (edge == NONE) {
+                break;
+            }
+            prefix.append(edgeLetter[edge]);
+            node = edgeTarget[edge];
+        }
+
+        // Go down the leftmost branch until we reach a word
+        return leftmostWord(node, prefix) ? prefix.toString() : null;
+    }
+
+    /**
+     * Returns a cursor positioned at the root of the graph.
+     * @return a new cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the number of words in the graph
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Return a string representation of the prefix tree stored in this graph,
+     * in the same format as PrefixTree.toString(). Shared subtrees are printed every time they are reached.
+     * @return string, representing the tree.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        toString(ROOT, 0, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Returns the number of nodes in the graph
+     * @return number of nodes
+     */
+    public int numNodes() {
+        return edgeStart.length - 1;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes of heap used by this graph.
+     * @return memory footprint in bytes
+     */
+    public long memoryFootprint() {
+        final int arrayHeader = 16;
+        final int objectHeader = 12;
+        return objectHeader + 4L * 4 // this object: four array references
+                + arrayHeader + (long) edgeStart.length * Integer.BYTES
+                + arrayHeader + (long) edgeLetter.length * Character.BYTES
+                + arrayHeader + (long) edgeTarget.length * Integer.BYTES
+                + arrayHeader + (long) wordBits.length * Long.BYTES;
+    }
+
+    // ---------- Package-private accessors, used to save the graph to a file ----------
+
+    int[] edgeStart() {
+        return edgeStart;
+    }
+
+    char[] edgeLetter() {
+        return edgeLetter;
+    }
+
+    int[] edgeTarget() {
+        return edgeTarget;
+    }
+
+    long[] wordBits() {
+        return wordBits;
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /**
+     * Replaces the nodes on the path below the given depth by equal registered nodes,
+     * or registers them if there are none, and removes them from the path.
+     * @param path     nodes on the path of the previous word
+     * @param depth    nodes deeper than this are minimized
+     * @param register all minimized nodes
+     */
+    private static void minimize(List<BuildNode> path, int depth, Map<BuildNode, BuildNode> register) {
+        for (int d = path.size() - 1; d > depth; d--) {
+            BuildNode child = path.remove(d);
+            BuildNode parent = path.get(d - 1);
+            BuildNode existing = register.putIfAbsent(child, child);
+            if (existing != null) {
+                parent.targets[parent.numEdges - 1] = existing; // child is always the last edge of its parent
+            }
+        }
+    }
+
+    /**
+     * Reads the words in the file, converts them to lower case, and sorts them.
+     * @param filename the name of the file with words
+     * @return sorted list of words
+     */
+    private static List<String> readWords(String filename) {
+        List<String> words = new ArrayList<>();
+        boolean sorted = true;
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                String word = line.toLowerCase();
+                for (int i = 0; i < word.length(); i++) {
+                    if (word.charAt(i) < 'a' || word.charAt(i) > 'z') {
+                        throw new IllegalArgumentException("Can not add \"" + line + "\": only English letters are allowed");
+                    }
+                }
+                if (!words.isEmpty() && words.get(words.size() - 1).compareTo(word) > 0) {
+                    sorted = false;
+                }
+                words.add(word);
+            }
+        } catch (IOException e) {
+            System.out.println("IO error.");
+        }
+        if (!sorted) {
+            Collections.sort(words);
+        }
+        return words;
+    }
+
+    /**
+     * Lists the words of a dictionary in alphabetical order, by walking it with a cursor.
+     * @param source the dictionary
+     * @return sorted list of words
+     */
+    private static List<String> wordsOf(TrieDictionary source) {
+        List<String> words = new ArrayList<>();
+        TrieCursor cursor = source.cursor();
+        StringBuilder word = new StringBuilder();
+        if (cursor.isWord()) {
+            words.add("");
+        }
+        if (!cursor.firstChild()) {
+            return words;
+        }
+        // Visit the nodes in the same order as toString: each node, then its children, then its siblings
+        while (true) {
+            word.setLength(cursor.depth() - 1);
+            word.append(cursor.letter());
+            if (cursor.isWord()) {
+                words.add(word.toString());
+            }
+            if (cursor.firstChild()) {
+                continue;
+            }
+            while (!cursor.nextSibling()) {
+                cursor.back();
+                if (cursor.depth() == 0) {
+                    return words;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the edge out of the node labeled with the given letter
+     * @param node index of a node
+     * @param ch   the letter (case-insensitive)
+     * @return index of the edge, or NONE if there is no such edge
+     */
+    private int edge(int node, char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            ch = (char) (ch + ('a' - 'A'));
+        }
+        for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+            if (edgeLetter[e] == ch) {
+                return e;
+            }
+            if (edgeLetter[e] > ch) {
+                break; // edges are sorted
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Follows the letters of the word from the root
+     * @param word the string to follow
+     * @return index of the node at the end of the path, or NONE if there is no such path
+     */
+    private int find(String word) {
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            int edge = edge(node, word.charAt(i));
+            if (edge == NONE) {
+                return NONE;
+            }
+            node = edgeTarget[edge];
+        }
+        return node;
+    }
+
+    private boolean isWord(int node) {
+        return (wordBits[node >>> 6] & (1L << node)) != 0;
+    }
+
+    /**
+     * Finds the first word reachable from the node, in the order PrefixTree lists them:
+     * the node itself, then the words below its edges from left to right.
+     * @param node   the node to start from
+     * @param prefix letters on the path to node; on success, holds the word that was found
+     * @return true if a word was found
+     */
+    private boolean leftmostWord(int node, StringBuilder prefix) {
+        if (isWord(node)) {
+            return true;
+        }
+        for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+            prefix.append(edgeLetter[e]);
+            if (leftmostWord(edgeTarget[e], prefix)) {
+                return true;
+            }
+            prefix.setLength(prefix.length() - 1); // Backtrack
+        }
+        return false;
+    }
+
+    /**
+     * Appends the tree below the node to sb, in the format of PrefixTree.toString()
+     * @param node            the node to start from
+     * @param numIndentations the number of indentations to print at the current level
+     * @param sb              where to append the result
+     */
+    private void toString(int node, int numIndentations, StringBuilder sb) {
+        for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+            for (int j = 0; j < numIndentations; j++) {
+                sb.append(" ");
+            }
+            sb.append(edgeLetter[e]);
+            if (isWord(edgeTarget[e])) {
+                sb.append("*");
+            }
+            sb.append(System.lineSeparator());
+            toString(edgeTarget[e], numIndentations + 1, sb);
+        }
+    }
+}
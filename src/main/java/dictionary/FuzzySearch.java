@@ -0,0 +1,164 @@
+package dictionary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/** Finds the words of a TrieDictionary that are closest to a given word by edit distance.
+ *  Walks the tree depth first with a cursor and keeps one row of the edit distance table per level:
+ *  row d holds the distances between the first d letters on the current path and every prefix of the word.
+ *  A subtree is skipped as soon as every entry of its row is over the bound, since adding letters
+ *  can never make the distance smaller. Once k words have been found, the bound shrinks
+ *  to the distance of the worst of them.
+ *  A FuzzySearch is not thread-safe; each thread should use its own. */
+public class FuzzySearch {
+
+    private final TrieDictionary dict;
+
+    // --------- Private class Match ------------
+    /* A word that was found, and its distance from the target word */
+    private static class Match {
+        final String word;
+        final int distance;
+
+        Match(String word, int distance) {
+            this.word = word;
+            this.distance = distance;
+        }
+    } // end of inner class Match
+
+    // Worse matches first: larger distance, then later in alphabetical order
+    private static final Comparator<Match> WORST_FIRST =
+            Comparator.<Match>comparingInt(m -> m.distance).thenComparing(m -> m.word).reversed();
+
+    /* State of one search */
+    private char[] target; // the word we are looking for, in lower case
+    private int maxDistance;
+    private int k;
+    private boolean transpositions;
+    private TrieCursor cursor;
+    private int[][] rows; // rows[d][j] = distance between the first d letters of the path and the first j letters of target
+    private char[] path; // letters on the path from the root to the cursor
+    private PriorityQueue<Match> best; // the best (at most k) matches so far, worst on top
+
+    /**
+     * Creates a fuzzy search over the given dictionary
+     * @param dict the dictionary to search; must not change during a search
+     */
+    public FuzzySearch(TrieDictionary dict) {
+        this.dict = dict;
+    }
+
+    /**
+     * Finds up to k words of the dictionary within the given edit distance of the word.
+     * The distance counts inserted, deleted and replaced letters (Levenshtein distance);
+     * if transpositions is true, swapping two neighboring letters counts as one edit too
+     * (optimal string alignment distance, a restricted form of Damerau distance).
+     * @param word           the target word (case-insensitive)
+     * @param maxDistance    largest distance a word can have to be returned
+     * @param k              largest number of words to return
+     * @param transpositions true to count swapping two neighboring letters as one edit
+     * @return the words, closest first; words at the same distance are in alphabetical order
+     */
+    public List<String> suggest(String word, int maxDistance, int k, boolean transpositions) {
+        if (maxDistance < 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+        this.target = word.toLowerCase().toCharArray();
+        this.maxDistance = maxDistance;
+        this.k = k;
+        this.transpositions = transpositions;
+        this.cursor = dict.cursor();
+        this.rows = new int[16][target.length + 1];
+        this.path = new char[16];
+        this.best = new PriorityQueue<>(k + 1, WORST_FIRST);
+
+        // Row 0: the empty path is j deletions away from the first j letters of the target
+        for (int j = 0; j <= target.length; j++) {
+            rows[0][j] = j;
+        }
+        if (cursor.isWord()) {
+            offer(0);
+        }
+        if (cursor.firstChild()) {
+            do {
+                search(1);
+            } while (cursor.nextSibling());
+        }
+
+        List<String> words = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            words.add(best.poll().word);
+        }
+        Collections.reverse(words);
+        return words;
+    }
+
+    /**
+     * Computes the row for the node the cursor points at, then searches its children.
+     * @param depth depth of the node the cursor points at
+     */
+    private void search(int depth) {
+        if (depth == rows.length) {
+            rows = Arrays.copyOf(rows, depth * 2);
+            for (int d = depth; d < rows.length; d++) {
+                rows[d] = new int[target.length + 1];
+            }
+            path = Arrays.copyOf(path, depth * 2);
+        }
+        char letter = cursor.letter();
+        path[depth - 1] = letter;
+        int[] row = rows[depth];
+        int[] above = rows[depth - 1];
+
+        row[0] = depth; // depth insertions away from the empty prefix of the target
+        int smallest = row[0];
+        for (int j = 1; j <= target.length; j++) {
+            int cost = target[j - 1] == letter ? 0 : 1;
+            int distance = Math.min(Math.min(above[j] + 1, row[j - 1] + 1), above[j - 1] + cost);
+            if (transpositions && depth > 1 && j > 1
+                    && target[j - 1] == path[depth - 2] && target[j - 2] == letter) {
+                distance = Math.min(distance, rows[depth - 2][j - 2] + 1);
+            }
+            row[j] = distance;
+            smallest = Math.min(smallest, distance);
+        }
+
+        // Every word below this node is at least this far from the target
+        if (smallest > bound()) {
+            return;
+        }
+        if (cursor.isWord()) {
+            offer(depth);
+        }
+        if (cursor.firstChild()) {
+            do {
+                search(depth + 1);
+            } while (cursor.nextSibling());
+            cursor.back();
+        }
+    }
+
+    /**
+     * Returns the largest distance a new match can have and still make it into the best k.
+     * Nodes are visited in alphabetical order, so a new match only beats an old one with a smaller distance.
+     */
+    private int bound() {
+        return best.size() < k ? maxDistance : best.peek().distance - 1;
+    }
+
+    /** Adds the word on the current path if it is close enough */
+    private void offer(int depth) {
+        int distance = rows[depth][target.length];
+        if (distance > bound()) {
+            return;
+        }
+        best.add(new Match(new String(path, 0, depth), distance));
+        if (best.size() > k) {
+            best.poll();
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package dictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/** MappedDictionary class, implements Dictionary interface.
+ *  A read-only dictionary that is answered straight from a binary snapshot file, mapped into memory.
+ *  Nothing is parsed or copied into Java objects when the file is opened, so opening takes
+ *  about as long as mapping the file, and processes that open the same file share its pages
+ *  in the operating system's page cache.
+ *
+ *  Snapshots are written by save(). A snapshot holds the minimal word graph (see Dawg) of a dictionary,
+ *  all numbers in big-endian order:
+ *  <pre>
+ *  int     MAGIC
+ *  int     VERSION
+ *  int     numNodes
+ *  int     numEdges
+ *  int     numWords
+ *  int[]   edgeStart   (numNodes + 1) the edges of node n are edgeStart[n] .. edgeStart[n + 1] - 1
+ *  int[]   edgeTarget  (numEdges)     the node each edge leads to
+ *  long[]  wordBits    ((numNodes + 63) / 64) bit n is set if node n marks the end of a word
+ *  char[]  edgeLetter  (numEdges)     the letter on each edge; the edges of a node are sorted by letter
+ *  </pre>
+ *  Node 0 is the root.
+ *  add and delete throw UnsupportedOperationException. */
+public class MappedDictionary implements TrieDictionary {
+
+    /** The first four bytes of a snapshot file: "DAWG" in ASCII */
+    public static final int MAGIC = 0x44415747;
+    /** Version of the snapshot format written by save() */
+    public static final int VERSION = 2;
+
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+    private static final int ROOT = 0; // index of the root node
+    private static final int NONE = -1; // "null" node
+
+    private final ByteBuffer buffer; // the mapped file (read with absolute gets only, so it can be shared by threads)
+    private final int numNodes;
+    private final int edgeStartOffset; // byte offsets of the arrays in the buffer
+    private final int edgeTargetOffset;
+    private final int wordBitsOffset;
+    private final int edgeLetterOffset;
+    private final int size; // number of words, from the header
+
+    // --------- Private class Cursor ------------
+    /* Walks the graph one edge at a time; keeps the edges on the current path */
+    private class Cursor implements TrieCursor {
+        private int[] path = new int[16]; // path[0] is the root, path[depth] is the current node
+        private int[] edges = new int[16]; // edges[d] is the edge that leads from path[d - 1] to path[d]
+        private int depth;
+
+        @Override
+        public boolean advance(char ch) {
+            int edge = edge(path[depth], ch);
+            if (edge == NONE) {
+                return false;
+            }
+            push(edge);
+            return true;
+        }
+
+        @Override
+        public void back() {
+            if (depth > 0) {
+                depth--;
+            }
+        }
+
+        @Override
+        public boolean isWord() {
+            return MappedDictionary.this.isWord(path[depth]);
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public void reset() {
+            depth = 0;
+        }
+
+        @Override
+        public boolean firstChild() {
+            int node = path[depth];
+            if (edgeStart(node) == edgeStart(node + 1)) {
+                return false;
+            }
+            push(edgeStart(node));
+            return true;
+        }
+
+        @Override
+        public boolean nextSibling() {
+            if (depth == 0 || edges[depth] + 1 == edgeStart(path[depth - 1] + 1)) {
+                return false;
+            }
+            edges[depth]++;
+            path[depth] = edgeTarget(edges[depth]);
+            return true;
+        }
+
+        @Override
+        public char letter() {
+            return depth == 0 ? 0 : edgeLetter(edges[depth]);
+        }
+
+        /** Follows the given edge down from the current node */
+        private void push(int edge) {
+            if (depth + 1 == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            path[++depth] = edgeTarget(edge);
+            edges[depth] = edge;
+        }
+    } // end of inner class Cursor
+
+    /**
+     * Opens a snapshot file written by save().
+     * If the file can not be read, prints an error and behaves like an empty dictionary.
+     * @param filename the name of the snapshot file
+     * @throws IllegalArgumentException if the file is not a snapshot
+     */
+    public MappedDictionary(String filename) {
+        ByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // stays valid after closing
+        } catch (IOException e) {
+            System.out.println("IO error.");
+            mapped = emptySnapshot();
+        }
+        buffer = mapped;
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException(filename + " is not a dictionary snapshot");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException(filename + " has unsupported snapshot version " + buffer.getInt(4));
+        }
+        numNodes = buffer.getInt(8);
+        int numEdges = buffer.getInt(12);
+        size = buffer.getInt(16);
+        edgeStartOffset = HEADER_SIZE;
+        edgeTargetOffset = edgeStartOffset + (numNodes + 1) * Integer.BYTES;
+        wordBitsOffset = edgeTargetOffset + numEdges * Integer.BYTES;
+        edgeLetterOffset = wordBitsOffset + ((numNodes + 63) / 64) * Long.BYTES;
+        if (numNodes < 1 || numEdges < 0 || size < 0 || buffer.limit() != edgeLetterOffset + numEdges * Character.BYTES) {
+            throw new IllegalArgumentException(filename + " is truncated or corrupted");
+        }
+    }
+
+    /**
+     * Writes a snapshot of the given dictionary to a file, which can then be opened with
+     * new MappedDictionary(filename). Builds the minimal word graph of the dictionary first,
+     * unless it already is a Dawg.
+     * @param dict     the dictionary to save; it is not changed
+     * @param filename the name of the snapshot file to create (or overwrite)
+     * @throws IOException if the file can not be written
+     */
+    public static void save(TrieDictionary dict, String filename) throws IOException {
+        Dawg dawg = dict instanceof Dawg ? (Dawg) dict : new Dawg(dict);
+        int[] edgeStart = dawg.edgeStart();
+        int[] edgeTarget = dawg.edgeTarget();
+        long[] wordBits = dawg.wordBits();
+        char[] edgeLetter = dawg.edgeLetter();
+
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + edgeStart.length * Integer.BYTES
+                + edgeTarget.length * Integer.BYTES + wordBits.length * Long.BYTES
+                + edgeLetter.length * Character.BYTES);
+        out.putInt(MAGIC).putInt(VERSION).putInt(edgeStart.length - 1).putInt(edgeTarget.length)
+                .putInt(dawg.size());
+        out.asIntBuffer().put(edgeStart);
+        out.position(out.position() + edgeStart.length * Integer.BYTES);
+        out.asIntBuffer().put(edgeTarget);
+        out.position(out.position() + edgeTarget.length * Integer.BYTES);
+        out.asLongBuffer().put(wordBits);
+        out.position(out.position() + wordBits.length * Long.BYTES);
+        out.asCharBuffer().put(edgeLetter);
+        out.rewind();
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    /**
+     * Not supported: a snapshot is read-only.
+     * @param word the word to add to the dictionary
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(String word) {
+        throw new UnsupportedOperationException("A MappedDictionary is read-only; save a new snapshot to add \"" + word + "\"");
+    }
+
+    /**
+     * Checks if a given word is in the dictionary
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean check(String word) {
+        int node = find(word);
+        return node != NONE && isWord(node);
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the dictionary
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    @Override
+    public boolean checkPrefix(String prefix) {
+        return find(prefix) != NONE;
+    }
+
+    /**
+     * Not supported: a snapshot is read-only.
+     * @param word the word to be deleted
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void delete(String word) {
+        throw new UnsupportedOperationException("A MappedDictionary is read-only; save a new snapshot to delete \"" + word + "\"");
+    }
+
+    /**
+     * If the word is a valid word in the dictionary, return the word.
+     * Otherwise, return the word from the "leftmost" branch below the longest common prefix
+     * of the given word and the graph (the same word PrefixTree would return).
+     * @param word the target word
+     * @return a valid word from the dictionary that has the longest common prefix with the given word
+     */
+    @Override
+    public String suggest(String word) {
+        // Follow the word as far as the graph allows
+        StringBuilder prefix = new StringBuilder();
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            int edge = edge(node, word.charAt(i));
+            if (edge == NONE) {
+                break;
+            }
+            prefix.append(edgeLetter(edge));
+            node = edgeTarget(edge);
+        }
+
+        // Go down the leftmost branch until we reach a word
+        return leftmostWord(node, prefix) ? prefix.toString() : null;
+    }
+
+    /**
+     * Returns a cursor positioned at the root of the graph.
+     * @return a new cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the number of words in the snapshot
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Return a string representation of the prefix tree stored in the snapshot,
+     * in the same format as PrefixTree.toString().
+     * @return string, representing the tree.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        toString(ROOT, 0, sb);
+        return sb.toString();
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /** Returns a snapshot of a dictionary with no words: a root with no edges */
+    private static ByteBuffer emptySnapshot() {
+        ByteBuffer empty = ByteBuffer.allocate(HEADER_SIZE + 2 * Integer.BYTES + Long.BYTES);
+        empty.putInt(MAGIC).putInt(VERSION).putInt(1).putInt(0).putInt(0);
+        return empty.rewind();
+    }
+
+    private int edgeStart(int node) {
+        return buffer.getInt(edgeStartOffset + node * Integer.BYTES);
+    }
+
+    private int edgeTarget(int edge) {
+        return buffer.getInt(edgeTargetOffset + edge * Integer.BYTES);
+    }
+
+    private char edgeLetter(int edge) {
+        return buffer.getChar(edgeLetterOffset + edge * Character.BYTES);
+    }
+
+    private boolean isWord(int node) {
+        return (buffer.getLong(wordBitsOffset + (node >>> 6) * Long.BYTES) & (1L << node)) != 0;
+    }
+
+    /**
+     * Finds the edge out of the node labeled with the given letter
+     * @param node index of a node
+     * @param ch   the letter (case-insensitive)
+     * @return index of the edge, or NONE if there is no such edge
+     */
+    private int edge(int node, char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            ch = (char) (ch + ('a' - 'A'));
+        }
+        int end = edgeStart(node + 1);
+        for (int e = edgeStart(node); e < end; e++) {
+            char letter = edgeLetter(e);
+            if (letter == ch) {
+                return e;
+            }
+            if (letter > ch) {
+                break; // edges are sorted
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Follows the letters of the word from the root
+     * @param word the string to follow
+     * @return index of the node at the end of the path, or NONE if there is no such path
+     */
+    private int find(String word) {
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            int edge = edge(node, word.charAt(i));
+            if (edge == NONE) {
+                return NONE;
+            }
+            node = edgeTarget(edge);
+        }
+        return node;
+    }
+
+    /**
+     * Finds the first word reachable from the node, in the order PrefixTree lists them:
+     * the node itself, then the words below its edges from left to right.
+     * @param node   the node to start from
+     * @param prefix letters on the path to node; on success, holds the word that was found
+     * @return true if a word was found
+     */
+    private boolean leftmostWord(int node, StringBuilder prefix) {
+        if (isWord(node)) {
+            return true;
+        }
+        int end = edgeStart(node + 1);
+        for (int e = edgeStart(node); e < end; e++) {
+            prefix.append(edgeLetter(e));
+            if (leftmostWord(edgeTarget(e), prefix)) {
+                return true;
+            }
+            prefix.setLength(prefix.length() - 1); // Backtrack
+        }
+        return false;
+    }
+
+    /**
+     * Appends the tree below the node to sb, in the format of PrefixTree.toString()
+     * @param node            the node to start from
+     * @param numIndentations the number of indentations to print at the current level
+     * @param sb              where to append the result
+     */
+    private void toString(int node, int numIndentations, StringBuilder sb) {
+        int end = edgeStart(node + 1);
+        for (int e = edgeStart(node); e < end; e++) {
+            for (int j = 0; j < numIndentations; j++) {
+                sb.append(" ");
+            }
+            sb.append(edgeLetter(e));
+            if (isWord(edgeTarget(e))) {
+                sb.append("*");
+            }
+            sb.append(System.lineSeparator());
+            toString(edgeTarget(e), numIndentations + 1, sb);
+        }
+    }
+}
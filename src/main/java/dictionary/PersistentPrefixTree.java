@@ -0,0 +1,419 @@
+package dictionary;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/** PersistentPrefixTree class, implements Dictionary interface.
+ *  An immutable prefix tree: with() and without() return a new tree and leave this one unchanged.
+ *  The new tree copies only the nodes on the path of the word (path copying) and shares every other
+ *  node with the old one, so a new version costs O(length of the word) nodes, not a copy of the tree.
+ *  Any number of threads can read a tree, and a reader that holds on to a tree sees the same words
+ *  for as long as it likes. Use VersionedDictionary to publish new versions to readers.
+ *  add and delete throw UnsupportedOperationException; use with and without instead. */
+public class PersistentPrefixTree implements TrieDictionary {
+
+    // --------- Private class Node ------------
+    /* Represents a node in the tree. Nodes are never changed once the tree they belong to is published */
+    private static class Node {
+        final Node[] children; // one child per English letter
+        boolean isWord; // only set while the node is built, never after
+
+        Node(Node[] children, boolean isWord) {
+            this.children = children;
+            this.isWord = isWord;
+        }
+    } // end of inner class Node
+
+    // --------- Private class Cursor ------------
+    /* Walks the tree one edge at a time; keeps the nodes on the current path */
+    private class Cursor implements TrieCursor {
+        private Node[] path = new Node[16]; // path[0] is the root, path[depth] is the current node
+        private int[] letters = new int[16]; // letters[d] is the index of the letter on the edge into path[d]
+        private int depth;
+
+        Cursor() {
+            path[0] = root;
+        }
+
+        @Override
+        public boolean advance(char ch) {
+            int index = index(ch);
+            if (index < 0 || path[depth].children[index] == null) {
+                return false;
+            }
+            push(path[depth].children[index], index);
+            return true;
+        }
+
+        @Override
+        public void back() {
+            if (depth > 0) {
+                path[depth--] = null;
+            }
+        }
+
+        @Override
+        public boolean isWord() {
+            return path[depth].isWord;
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public void reset() {
+            while (depth > 0) {
+                path[depth--] = null;
+            }
+        }
+
+        @Override
+        public boolean firstChild() {
+            Node node = path[depth];
+            for (int i = 0; i < 26; i++) {
+                if (node.children[i] != null) {
+                    push(node.children[i], i);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean nextSibling() {
+            if (depth == 0) {
+                return false;
+            }
+            Node parent = path[depth - 1];
+            for (int i = letters[depth] + 1; i < 26; i++) {
+                if (parent.children[i] != null) {
+                    path[depth] = parent.children[i];
+                    letters[depth] = i;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public char letter() {
+            return depth == 0 ? 0 : (char) ('a' + letters[depth]);
+        }
+
+        /** Moves down to the given child, which is on the edge with the given letter index */
+        private void push(Node child, int index) {
+            if (depth + 1 == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+                letters = Arrays.copyOf(letters, letters.length * 2);
+            }
+            path[++depth] = child;
+            letters[depth] = index;
+        }
+    } // end of inner class Cursor
+
+    private final Node root; // the root of the tree
+    private final int size; // number of words in the tree
+
+    /** Creates an empty tree */
+    public PersistentPrefixTree() {
+        root = new Node(new Node[26], false);
+        size = 0;
+    }
+
+    /**
+     * Creates a tree using words from the given file.
+     * The file contains one word per line.
+     * @param filename the name of the file with words
+     */
+    public PersistentPrefixTree(String filename) {
+        root = new Node(new Node[26], false);
+        int words = 0;
+        // Nobody else can see the tree yet, so the words are added in place instead of copying paths
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                checkLetters(line);
+                Node node = root;
+                for (int i = 0; i < line.length(); i++) {
+                    int index = index(line.charAt(i));
+                    if (node.children[index] == null) {
+                        node.children[index] = new Node(new Node[26], false);
+                    }
+                    node = node.children[index];
+                }
+                if (!node.isWord) {
+                    words++;
+                }
+                node.isWord = true;
+            }
+        } catch (IOException e) {
+            System.out.println("IO error.");
+        }
+        size = words;
+    }
+
+    private PersistentPrefixTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns a tree with the words of this tree and the given word. This tree does not change.
+     * @param word the word to add
+     * @return the new tree (this tree, if the word is already in it)
+     */
+    public PersistentPrefixTree with(String word) {
+        checkLetters(word);
+        if (check(word)) {
+            return this;
+        }
+        return new PersistentPrefixTree(with(root, word, 0), size + 1);
+    }
+
+    /**
+     * Returns a tree with the words of this tree except the given word, without the branch
+     * that only led to it. This tree does not change.
+     * @param word the word to remove
+     * @return the new tree (this tree, if the word is not in it)
+     */
+    public PersistentPrefixTree without(String word) {
+        if (!check(word)) {
+            return this;
+        }
+        Node newRoot = without(root, word, 0);
+        return new PersistentPrefixTree(newRoot == null ? new Node(new Node[26], false) : newRoot, size - 1);
+    }
+
+    /**
+     * Not supported: the tree is immutable.
+     * @param word the word to add to the dictionary
+     * @throws UnsupportedOperationException always; use with(word) instead
+     */
+    @Override
+    public void add(String word) {
+        throw new UnsupportedOperationException("A PersistentPrefixTree is immutable; use with(\"" + word + "\")");
+    }
+
+    /**
+     * Checks if a given word is in the dictionary
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean check(String word) {
+        Node node = find(word);
+        return node != null && node.isWord;
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the dictionary
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    @Override
+    public boolean checkPrefix(String prefix) {
+        return find(prefix) != null;
+    }
+
+    /**
+     * Not supported: the tree is immutable.
+     * @param word the word to be deleted
+     * @throws UnsupportedOperationException always; use without(word) instead
+     */
+    @Override
+    public void delete(String word) {
+        throw new UnsupportedOperationException("A PersistentPrefixTree is immutable; use without(\"" + word + "\")");
+    }
+
+    /**
+     * If the word is a valid word in the tree, return the word.
+     * Otherwise, return the word from the "leftmost" branch below the longest common prefix
+     * of the given word and the tree (the same word PrefixTree would return).
+     * @param word the target word
+     * @return a valid word from the tree that has the longest common prefix with the given word
+     */
+    @Override
+    public String suggest(String word) {
+        StringBuilder prefix = new StringBuilder();
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            int index = index(word.charAt(i));
+            if (index < 0 || node.children[index] == null) {
+                break;
+            }
+            prefix.append((char) ('a' + index));
+            node = node.children[index];
+        }
+        return leftmostWord(node, prefix) ? prefix.toString() : null;
+    }
+
+    /**
+     * Returns a cursor positioned at the root of this tree.
+     * @return a new cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the number of words in the tree
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Return a string representation of the prefix tree,
+     * in the same format as PrefixTree.toString().
+     * @return string, representing the tree.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        toString(root, 0, sb);
+        return sb.toString();
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /**
+     * Returns the index of the child that corresponds to the given letter.
+     * Upper case letters are treated as lower case ones.
+     * @param ch a letter
+     * @return index in the array of children, or -1 if ch is not an English letter
+     */
+    private static int index(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            ch = (char) (ch + ('a' - 'A'));
+        }
+        int index = ch - 'a';
+        return index >= 0 && index < 26 ? index : -1;
+    }
+
+    /** Throws IllegalArgumentException if the word has a character that is not an English letter */
+    private static void checkLetters(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (index(word.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Can not add \"" + word + "\": only English letters are allowed");
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the node with the rest of the word (from depth on) added below it.
+     * Only the nodes on the path of the word are copied; all other children are shared.
+     * @param node  the node to copy, or null to create a new one
+     * @param word  the word to add
+     * @param depth number of letters of the word on the path to node
+     * @return the new node
+     */
+    private static Node with(Node node, String word, int depth) {
+        Node[] children = node == null ? new Node[26] : node.children.clone();
+        boolean isWord = node != null && node.isWord;
+        if (depth == word.length()) {
+            return new Node(children, true);
+        }
+        int index = index(word.charAt(depth));
+        children[index] = with(children[index], word, depth + 1);
+        return new Node(children, isWord);
+    }
+
+    /**
+     * Returns a copy of the node without the rest of the word (from depth on),
+     * or null if the copy would be a leaf that is not a word. The word must be in the subtree.
+     * @param node  the node to copy
+     * @param word  the word to remove
+     * @param depth number of letters of the word on the path to node
+     * @return the new node, or null
+     */
+    private static Node without(Node node, String word, int depth) {
+        Node[] children = node.children.clone();
+        boolean isWord = node.isWord;
+        if (depth == word.length()) {
+            isWord = false;
+        } else {
+            int index = index(word.charAt(depth));
+            children[index] = without(children[index], word, depth + 1);
+        }
+        if (!isWord) {
+            boolean isLeaf = true;
+            for (int i = 0; i < 26 && isLeaf; i++) {
+                isLeaf = children[i] == null;
+            }
+            if (isLeaf) {
+                return null;
+            }
+        }
+        return new Node(children, isWord);
+    }
+
+    /**
+     * Follows the letters of the word from the root
+     * @param word the string to follow
+     * @return the node at the end of the path, or null if there is no such path
+     */
+    private Node find(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length() && node != null; i++) {
+            int index = index(word.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+        }
+        return node;
+    }
+
+    /**
+     * Finds the first word below a node, in "leftmost" order: the node itself,
+     * then the subtrees of its children from left to right.
+     * @param node   the node to start from
+     * @param prefix letters on the path to node; on success, holds the word that was found
+     * @return true if a word was found
+     */
+    private static boolean leftmostWord(Node node, StringBuilder prefix) {
+        if (node.isWord) {
+            return true;
+        }
+        for (int i = 0; i < 26; i++) {
+            if (node.children[i] != null) {
+                prefix.append((char) ('a' + i));
+                if (leftmostWord(node.children[i], prefix)) {
+                    return true;
+                }
+                prefix.setLength(prefix.length() - 1); // Backtrack
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends the subtree of the node to sb, in the format of PrefixTree.toString()
+     * @param node            the root of the subtree
+     * @param numIndentations the number of indentations to print at the current level
+     * @param sb              where to append the result
+     */
+    private static void toString(Node node, int numIndentations, StringBuilder sb) {
+        for (int i = 0; i < 26; i++) {
+            Node child = node.children[i];
+            if (child != null) {
+                for (int j = 0; j < numIndentations; j++) {
+                    sb.append(" ");
+                }
+                sb.append((char) ('a' + i));
+                if (child.isWord) {
+                    sb.append("*");
+                }
+                sb.append(System.lineSeparator());
+                toString(child, numIndentations + 1, sb);
+            }
+        }
+    }
+}
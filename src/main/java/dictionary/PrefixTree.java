@@ -3,52 +3,501 @@ package dictionary;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /** PrefixTree class, implements Dictionary interface.
  *  Can be used as a spell checker. */
-public class PrefixTree implements Dictionary {
+public class PrefixTree implements TrieDictionary {
 
     // --------- Private class Node ------------
-    /* Represents a node in a  prefix tree ("trie", "26-ary tree") */
-    private class Node {
-        Node children[]; // array of children (26 children, one corresponding to each English letter)
+    /* Represents a node in a  prefix tree ("trie", "26-ary tree").
+     * Every lookup passes through the top levels, and nodes there have many children, so a node less than
+     * DIRECT_DEPTH letters below the root has a full array of 26 children indexed by letter.
+     * Deeper nodes mostly have one or two children, so they do not allocate a slot for every letter:
+     * children[] holds only the children that exist, in letter order, and the child for letter i is in slot
+     * Integer.bitCount(bitmap & ((1 << i) - 1)), the number of children before it. A deep leaf has no array.
+     * In both layouts bit i of bitmap is set if there is a child for the i-th letter, and children are
+     * always visited in letter order by walking the set bits of bitmap. */
+    private static class Node {
+        static final int DIRECT_DEPTH = 4; // nodes above this depth index their children by letter
+
+        int bitmap; // bit i is set if there is a child for letter 'a' + i
+        Node[] children; // indexed by letter if direct; otherwise the children in letter order
+                         // (possibly with empty slots at the end), or null for a leaf
+        final boolean direct; // true if children[i] is the child for letter 'a' + i
         boolean isWord; // true if by concatenating "edges" on the path from the root to this node, we get a valid word
-
-        Node() {
+        int frequency; // how common the word is (only meaningful if isWord is true)
+        int maxFrequency; // the largest frequency of a word in the subtree of this node, or -1 if there is no word in it
+
+        /**
+         * Creates a node with no children and no word
+         * @param depth number of letters on the path from the root to this node
+         */
+        Node(int depth) {
+            direct = depth < DIRECT_DEPTH;
+            if (direct) {
+                children = new Node[26];
+            }
             isWord = false;
-            children = new Node[26]; // initialize the array of children
+            maxFrequency = -1;
+        }
+
+        /** Returns the child for the letter with the given index, or null if there is none */
+        Node child(int index) {
+            if (direct) {
+                return children[index];
+            }
+            int bit = 1 << index;
+            return (bitmap & bit) == 0 ? null : children[Integer.bitCount(bitmap & (bit - 1))];
+        }
+
+        /** Returns the index of the first letter at or after from that has a child, or -1 if there is none */
+        int nextChild(int from) {
+            int bits = from < 26 ? bitmap & (-1 << from) : 0;
+            return bits == 0 ? -1 : Integer.numberOfTrailingZeros(bits);
+        }
+
+        /** Returns true if the node has at least one child */
+        boolean hasChildren() {
+            return bitmap != 0;
+        }
+
+        /** Sets the child for the letter with the given index, growing the array of children if needed */
+        void setChild(int index, Node child) {
+            int bit = 1 << index;
+            if (direct) {
+                children[index] = child;
+                bitmap |= bit;
+                return;
+            }
+            int slot = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) != 0) {
+                children[slot] = child; // replace the child that is there
+                return;
+            }
+            int count = Integer.bitCount(bitmap);
+            if (children == null) {
+                children = new Node[1];
+            } else if (count == children.length) {
+                children = Arrays.copyOf(children, Math.min(count * 2, 26));
+            }
+            System.arraycopy(children, slot, children, slot + 1, count - slot);
+            children[slot] = child;
+            bitmap |= bit;
+        }
+
+        /** Removes the child for the letter with the given index, if there is one */
+        void removeChild(int index) {
+            int bit = 1 << index;
+            if ((bitmap & bit) == 0) {
+                return;
+            }
+            bitmap &= ~bit;
+            if (direct) {
+                children[index] = null;
+                return;
+            }
+            int count = Integer.bitCount(bitmap) + 1;
+            int slot = Integer.bitCount(bitmap & (bit - 1));
+            System.arraycopy(children, slot + 1, children, slot, count - slot - 1);
+            children[count - 1] = null;
+            if (count == 1) {
+                children = null;
+            }
         }
     } // end of inner class Node
 
+    // --------- Private class Completion ------------
+    /* An entry of the queue used by complete(): either a word, or a subtree that has not been expanded yet.
+     * score is the frequency of the word, or the largest frequency in the subtree */
+    private static class Completion implements Comparable<Completion> {
+        final String text; // the word, or the letters on the path to the subtree
+        final Node node; // the root of the subtree, or null for a word
+        final int score;
+
+        Completion(String text, Node node, int score) {
+            this.text = text;
+            this.node = node;
+            this.score = score;
+        }
+
+        /* Higher scores first, then alphabetical order; a word comes before the subtree it is the root of */
+        @Override
+        public int compareTo(Completion other) {
+            if (score != other.score) {
+                return Integer.compare(other.score, score);
+            }
+            int result = text.compareTo(other.text);
+            if (result != 0) {
+                return result;
+            }
+            return Boolean.compare(node != null, other.node != null);
+        }
+    } // end of inner class Completion
+
+    // --------- Private class Cursor ------------
+    /* Walks the tree one edge at a time; keeps the nodes on the current path in a stack */
+    private class Cursor implements TrieCursor {
+        private Node[] path; // path[0] is the root, path[depth] is the current node
+        private int[] letters; // letters[d] is the index of the letter on the edge into path[d]
+        private int depth; // number of edges between the root and the current node
+
+        Cursor() {
+            path = new Node[16];
+            letters = new int[16];
+            path[0] = root;
+            depth = 0;
+        }
+
+        @Override
+        public boolean advance(char ch) {
+            int index = index(ch);
+            if (index < 0) {
+                return false;
+            }
+            Node child = path[depth].child(index);
+            if (child == null) {
+                return false; // no word continues with this letter
+            }
+            push(child, index);
+            return true;
+        }
+
+        @Override
+        public void back() {
+            if (depth > 0) {
+                path[depth--] = null;
+            }
+        }
+
+        @Override
+        public boolean isWord() {
+            return path[depth].isWord;
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public void reset() {
+            while (depth > 0) {
+                path[depth--] = null;
+            }
+            path[0] = root;
+        }
+
+        @Override
+        public boolean firstChild() {
+            Node node = path[depth];
+            int i = node.nextChild(0);
+            if (i < 0) {
+                return false;
+            }
+            push(node.child(i), i);
+            return true;
+        }
+
+        @Override
+        public boolean nextSibling() {
+            if (depth == 0) {
+                return false;
+            }
+            Node parent = path[depth - 1];
+            int i = parent.nextChild(letters[depth] + 1);
+            if (i < 0) {
+                return false;
+            }
+            path[depth] = parent.child(i);
+            letters[depth] = i;
+            return true;
+        }
+
+        @Override
+        public char letter() {
+            return depth == 0 ? 0 : (char) ('a' + letters[depth]);
+        }
+
+        /** Moves down to the given child, which is on the edge with the given letter index */
+        private void push(Node child, int index) {
+            if (depth + 1 == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+                letters = Arrays.copyOf(letters, letters.length * 2);
+            }
+            path[++depth] = child;
+            letters[depth] = index;
+        }
+    } // end of inner class Cursor
+
+    // --------- Private class Loader ------------
+    /* Adds words one after another. Keeps the path of the previous word, so each word starts from the deepest
+     * node it shares with the previous one instead of from the root; in sorted input that shared part is as
+     * long as it can be, and every node is visited about once. Input in any other order still gives the right tree. */
+    private class Loader {
+        private Node[] path; // path[d] is the node for the first d letters of the previous word
+        private int[] letters; // letters[d] is the index of the letter on the edge into path[d]
+        private int length; // number of letters in the previous word
+
+        Loader() {
+            path = new Node[16];
+            letters = new int[16];
+            path[0] = root;
+            length = 0;
+        }
+
+        /**
+         * Adds letters start..end-1 of the word to the tree
+         * @param word      a word to add
+         * @param start     index of the first letter
+         * @param end       index after the last letter
+         * @param frequency the frequency of the word, or NO_FREQUENCY to keep the current one (0 for a new word)
+         * @return false if the word has a character that is not an English letter; the tree is not changed then
+         */
+        boolean add(CharSequence word, int start, int end, int frequency) {
+            int n = end - start;
+            for (int i = start; i < end; i++) {
+                if (index(word.charAt(i)) < 0) {
+                    return false;
+                }
+            }
+            if (n >= path.length) {
+                path = Arrays.copyOf(path, Math.max(n + 1, path.length * 2));
+                letters = Arrays.copyOf(letters, path.length);
+            }
+
+            // Skip the letters this word shares with the previous one
+            int shared = 0;
+            while (shared < length && shared < n && letters[shared + 1] == index(word.charAt(start + shared))) {
+                shared++;
+            }
+            Node node = path[shared];
+            for (int depth = shared; depth < n; depth++) {
+                int index = index(word.charAt(start + depth));
+                Node child = node.child(index);
+                if (child == null) {
+                    child = new Node(depth + 1);
+                    node.setChild(index, child);
+                }
+                node = child;
+                path[depth + 1] = node;
+                letters[depth + 1] = index;
+            }
+            length = n;
+            setWord(path, n, frequency);
+            return true;
+        }
+    } // end of inner class Loader
+
+    // --------- Private class Chunk ------------
+    /* A piece of a word file that ends at a line break, and the words in it sorted into buckets
+     * by first letter. Bucket 26 holds empty lines, which add the empty word. */
+    private static class Chunk {
+        final String text; // the lines of this piece of the file
+        final int[][] words = new int[27][]; // words[b] holds (start, end, frequency) of each word in bucket b
+        final int[] counts = new int[27]; // counts[b] is the number of ints used in words[b]
+
+        Chunk(String text) {
+            this.text = text;
+        }
+
+        /* Adds letters start..end-1 of the text to the bucket */
+        void add(int bucket, int start, int end, int frequency) {
+            if (words[bucket] == null) {
+                words[bucket] = new int[48];
+            } else if (counts[bucket] == words[bucket].length) {
+                words[bucket] = Arrays.copyOf(words[bucket], counts[bucket] * 2);
+            }
+            words[bucket][counts[bucket]++] = start;
+            words[bucket][counts[bucket]++] = end;
+            words[bucket][counts[bucket]++] = frequency;
+        }
+    } // end of inner class Chunk
+
+    private static final int NO_FREQUENCY = -1; // passed to add when the caller did not give a frequency
+    private static final int CHUNK_SIZE = 1 << 16; // loadParallel splits the file into pieces of about this many bytes
+
     private Node root; // the root of the tree
+    private int size; // number of words in the tree
+    private Node[] addPath = new Node[16]; // used by add: addPath[d] is the node for the first d letters of the word
 
     public PrefixTree() {
-        root = new Node();
+        root = new Node(0);
     }
 
     /**
      * Creates a prefix tree using words from the given file.
-     * The file contains one word per line.
+     * The file contains one word per line. A line can also have a second column with the frequency
+     * of the word (how common it is), separated from the word by spaces or a tab; complete() uses it
+     * to rank words. Words without a frequency have frequency 0.
      * @param filename the name of the file with words
      */
     public PrefixTree(String filename) {
-        root = new Node();
+        root = new Node(0);
+        Loader loader = new Loader(); // word files are usually sorted, so each word starts where the previous one left off
         try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
             String line;
             while ((line = br.readLine()) != null) {
-                add(line);
+                int space = firstSpace(line);
+                int end = space < 0 ? line.length() : space;
+                int frequency = NO_FREQUENCY;
+                if (space >= 0) {
+                    frequency = Integer.parseInt(line.substring(space).trim());
+                    if (frequency < 0) {
+                        throw new IllegalArgumentException("The frequency of \"" + line.substring(0, end)
+                                + "\" can not be negative: " + frequency);
+                    }
+                }
+                if (!loader.add(line, 0, end, frequency)) {
+                    throw new IllegalArgumentException("Can not add \"" + line.substring(0, end)
+                            + "\": only English letters are allowed");
+                }
             }
         } catch (IOException e) {
             System.out.println("IO error.");
         }
     }
 
+    /**
+     * Creates a prefix tree from a word file, using all cores of the machine (the common fork-join pool).
+     * Gives the same tree as new PrefixTree(filename).
+     * @param filename the name of the file with words, in the format of PrefixTree(String filename)
+     * @return the new tree
+     */
+    public static PrefixTree loadParallel(String filename) {
+        return loadParallel(filename, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a prefix tree from a word file on the given pool. Gives the same tree as new PrefixTree(filename).
+     * The file is mapped into memory and cut into pieces at line breaks; the pieces are read at the same time
+     * and their words sorted into buckets by first letter. The subtree under each first letter only holds words
+     * from its own bucket, so the 26 subtrees are then built at the same time and hung under a new root.
+     * Within a bucket, words are added in the order of the file.
+     * @param filename the name of the file with words, in the format of PrefixTree(String filename)
+     * @param pool     the threads to load the file on
+     * @return the new tree
+     * @throws IllegalArgumentException if a word has a character that is not an English letter,
+     * or a negative frequency
+     */
+    public static PrefixTree loadParallel(String filename, ForkJoinPool pool) {
+        PrefixTree tree = new PrefixTree();
+        List<Chunk> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(Paths.get(filename))) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int start = 0;
+            int size = buffer.limit();
+            while (start < size) {
+                int end = Math.min(start + CHUNK_SIZE, size);
+                while (end < size && buffer.get(end - 1) != '\n') {
+                    end++; // a line break is one byte in UTF-8, so a piece never ends inside a character
+                }
+                chunks.add(new Chunk(StandardCharsets.UTF_8.decode(buffer.slice(start, end - start)).toString()));
+                start = end;
+            }
+        } catch (IOException e) {
+            System.out.println("IO error.");
+            return tree;
+        }
+
+        PrefixTree[] parts = new PrefixTree[26];
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            List<ForkJoinTask<?>> scans = new ArrayList<>();
+            for (Chunk chunk : chunks) {
+                scans.add(ForkJoinTask.adapt(() -> scan(chunk)));
+            }
+            ForkJoinTask.invokeAll(scans);
+
+            List<ForkJoinTask<?>> builds = new ArrayList<>();
+            for (int i = 0; i < 26; i++) {
+                int letter = i;
+                builds.add(ForkJoinTask.adapt(() -> parts[letter] = build(chunks, letter)));
+            }
+            ForkJoinTask.invokeAll(builds);
+        }));
+
+        // invoke() returns after every task is done, so the subtrees are visible here.
+        // Nodes do not point back to the tree that made them, so the parts can be collected once grafted.
+        for (int i = 0; i < 26; i++) {
+            Node subtree = parts[i].root.child(i);
+            if (subtree != null) {
+                tree.root.setChild(i, subtree);
+                tree.size += parts[i].size;
+            }
+        }
+        updateMaxFrequency(tree.root);
+        Loader loader = tree.new Loader();
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.counts[26]; i += 3) {
+                loader.add(chunk.text, chunk.words[26][i], chunk.words[26][i + 1], chunk.words[26][i + 2]);
+            }
+        }
+        return tree;
+    }
+
     /** Adds a given word to the dictionary.
+     * If the word is new, its frequency is 0; otherwise its frequency does not change.
      * @param word the word to add to the dictionary
      */
     public void add(String word) {
-        add(word.toLowerCase(), root);
+        add(word, 0, word.length(), NO_FREQUENCY);
+    }
+
+    /** Adds a given word to the dictionary, or changes its frequency if it is already there.
+     * @param word      the word to add to the dictionary
+     * @param frequency how common the word is; complete() suggests more common words first
+     * @throws IllegalArgumentException if frequency is negative
+     */
+    public void add(String word, int frequency) {
+        if (frequency < 0) {
+            throw new IllegalArgumentException("The frequency of \"" + word + "\" can not be negative: " + frequency);
+        }
+        add(word, 0, word.length(), frequency);
+    }
+
+    /** Adds a given word to the dictionary without copying it.
+     * @param word the word to add to the dictionary
+     */
+    public void add(CharSequence word) {
+        add(word, 0, word.length(), NO_FREQUENCY);
+    }
+
+    /** Adds the word stored in a part of a char array to the dictionary.
+     * @param word   the buffer that holds the word
+     * @param offset index of the first letter of the word in the buffer
+     * @param length number of letters in the word
+     */
+    public void add(char[] word, int offset, int length) {
+        add(word, offset, offset + length, NO_FREQUENCY);
+    }
+
+    /**
+     * Adds many words in one pass. Each word is added starting from the part it shares with the
+     * previous word, so words in sorted order (like the word files in input/) are added without walking
+     * down from the root again and again. Words in any other order are added correctly, just more slowly.
+     * Words with a character that is not an English letter are skipped instead of stopping the load.
+     * Words that are new get frequency 0; words that are already in the tree keep their frequency.
+     * @param words the words to add, best in sorted order
+     * @return the number of words that were skipped
+     */
+    public int addSorted(Iterable<? extends CharSequence> words) {
+        Loader loader = new Loader();
+        int skipped = 0;
+        for (CharSequence word : words) {
+            if (!loader.add(word, 0, word.length(), NO_FREQUENCY)) {
+                skipped++;
+            }
+        }
+        return skipped;
     }
 
     /**
@@ -57,7 +506,31 @@ public class PrefixTree implements Dictionary {
      * @return true if the word is in the dictionary, false otherwise
      */
     public boolean check(String word) {
-        return check(word.toLowerCase(), root);
+        Node node = find(word, 0, word.length());
+        return node != null && node.isWord;
+    }
+
+    /**
+     * Checks if a given word is in the dictionary. Does not allocate, so callers
+     * can pass a reusable buffer such as a StringBuilder.
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    public boolean check(CharSequence word) {
+        Node node = find(word, 0, word.length());
+        return node != null && node.isWord;
+    }
+
+    /**
+     * Checks if the word stored in a part of a char array is in the dictionary
+     * @param word   the buffer that holds the word
+     * @param offset index of the first letter of the word in the buffer
+     * @param length number of letters in the word
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    public boolean check(char[] word, int offset, int length) {
+        Node node = find(word, offset, offset + length);
+        return node != null && node.isWord;
     }
 
     /**
@@ -69,7 +542,29 @@ public class PrefixTree implements Dictionary {
      * starts with "ca" (like the word "cat").
      */
     public boolean checkPrefix(String prefix) {
-        return checkPrefix(prefix.toLowerCase(), root);
+        return find(prefix, 0, prefix.length()) != null;
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the dictionary. Does not allocate.
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    public boolean checkPrefix(CharSequence prefix) {
+        return find(prefix, 0, prefix.length()) != null;
+    }
+
+    /**
+     * Checks if a word starts with the prefix stored in a part of a char array
+     * @param prefix the buffer that holds the prefix
+     * @param offset index of the first letter of the prefix in the buffer
+     * @param length number of letters in the prefix
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    public boolean checkPrefix(char[] prefix, int offset, int length) {
+        return find(prefix, offset, offset + length) != null;
     }
 
     /**
@@ -96,6 +591,87 @@ public class PrefixTree implements Dictionary {
         return suggest(word, root);
     }
 
+    /**
+     * Returns up to k words from the tree within the given Levenshtein distance of the word
+     * (the number of letters to insert, delete or replace to turn one into the other).
+     * @param word        the target word
+     * @param maxDistance largest distance a suggestion can have
+     * @param k           largest number of suggestions
+     * @return the suggestions, closest first; suggestions at the same distance are in alphabetical order
+     */
+    public List<String> suggest(String word, int maxDistance, int k) {
+        return new FuzzySearch(this).suggest(word, maxDistance, k, false);
+    }
+
+    /**
+     * Same as suggest(word, maxDistance, k), but can also count swapping two neighboring letters
+     * ("chaneg" -> "change") as a single edit.
+     * @param word           the target word
+     * @param maxDistance    largest distance a suggestion can have
+     * @param k              largest number of suggestions
+     * @param transpositions true to count swapping two neighboring letters as one edit
+     * @return the suggestions, closest first; suggestions at the same distance are in alphabetical order
+     */
+    public List<String> suggest(String word, int maxDistance, int k, boolean transpositions) {
+        return new FuzzySearch(this).suggest(word, maxDistance, k, transpositions);
+    }
+
+    /**
+     * Returns the k most common words that start with the given prefix (autocomplete).
+     * Words with the same frequency are returned in alphabetical order.
+     * Every node knows the largest frequency in its subtree, so the search always expands the subtree
+     * that can hold the next best word, and stops after k words instead of visiting every word with the prefix.
+     * @param prefix the letters typed so far
+     * @param k      largest number of words to return
+     * @return the most common words that start with prefix, most common first
+     */
+    public List<String> complete(String prefix, int k) {
+        List<String> words = new ArrayList<>();
+        Node node = find(prefix, 0, prefix.length());
+        if (node == null || node.maxFrequency < 0 || k <= 0) {
+            return words;
+        }
+
+        PriorityQueue<Completion> queue = new PriorityQueue<>();
+        queue.add(new Completion(prefix.toLowerCase(), node, node.maxFrequency));
+        while (!queue.isEmpty() && words.size() < k) {
+            Completion best = queue.poll();
+            if (best.node == null) {
+                words.add(best.text); // no word left in the queue can beat this one
+                continue;
+            }
+            // Expand the subtree: its own word, and one entry per child
+            if (best.node.isWord) {
+                queue.add(new Completion(best.text, null, best.node.frequency));
+            }
+            for (int i = best.node.nextChild(0); i >= 0; i = best.node.nextChild(i + 1)) {
+                Node child = best.node.child(i);
+                if (child.maxFrequency >= 0) {
+                    queue.add(new Completion(best.text + (char) ('a' + i), child, child.maxFrequency));
+                }
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns a cursor positioned at the root of this tree.
+     * @return a new cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the number of words in the tree
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
     /** Return a string representation of the prefix tree.
      * See expectedDictionary1.txt and expectedTree_Small.txt to understand the format.
      * @return string, representing the tree.
@@ -107,100 +683,258 @@ public class PrefixTree implements Dictionary {
     // ---------- Private helper methods ---------------
 
     /**
-     * Adds (recursively) a given string to the subtree with the given root
-     * @param word a word to add
-     * @param node root of a subtree
-
+     * Returns the index of the child that corresponds to the given letter.
+     * Upper case letters are treated as lower case ones.
+     * @param ch a letter
+     * @return index in the array of children, or -1 if ch is not an English letter
      */
-    private void add(String word, Node node) {
+    private static int index(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            ch = (char) (ch + ('a' - 'A'));
+        }
+        int index = ch - 'a';
+        return index >= 0 && index < 26 ? index : -1;
+    }
 
-        // Base case
-        if (word.length() == 0) { // This is the node where this word "ends"
-            node.isWord = true;
-            return;
+    /**
+     * Adds letters start..end-1 of the given word to the tree, creating nodes as needed.
+     * Walks down from the root in a loop, so nothing is copied.
+     * @param word      a word to add
+     * @param start     index of the first letter
+     * @param end       index after the last letter
+     * @param frequency the frequency of the word, or NO_FREQUENCY to keep the current one (0 for a new word)
+     */
+    private void add(CharSequence word, int start, int end, int frequency) {
+        // Make sure every letter has a child slot before changing the tree
+        for (int i = start; i < end; i++) {
+            if (index(word.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Can not add \"" + word.subSequence(start, end)
+                        + "\": only English letters are allowed");
+            }
         }
 
-        int index = (int) word.charAt(0) - (int) 'a'; // index of the child that corresponds to the first letter in s
+        Node[] path = addPath(end - start);
+        Node node = root;
+        for (int i = start; i < end; i++) {
+            int index = index(word.charAt(i)); // index of the child that corresponds to the next letter
 
-        // If this child is null, point it to a new Node
-        if (node.children[index] == null) {
-            node.children[index] = new Node();
+            // If this child is null, point it to a new Node
+            Node child = node.child(index);
+            if (child == null) {
+                child = new Node(i - start + 1);
+                node.setChild(index, child);
+            }
+            node = child;
+            path[i - start + 1] = node;
         }
+        setWord(path, end - start, frequency);
+    }
 
-        // Recursive call to add on remaining part of word
-        add(word.substring(1), node.children[index]);
+    /**
+     * Adds letters start..end-1 of the given char array to the tree, the same way as add(CharSequence, ...)
+     * @param word      the buffer that holds the word
+     * @param start     index of the first letter
+     * @param end       index after the last letter
+     * @param frequency the frequency of the word, or NO_FREQUENCY to keep the current one (0 for a new word)
+     */
+    private void add(char[] word, int start, int end, int frequency) {
+        for (int i = start; i < end; i++) {
+            if (index(word[i]) < 0) {
+                throw new IllegalArgumentException("Can not add \"" + new String(word, start, end - start)
+                        + "\": only English letters are allowed");
+            }
+        }
 
+        Node[] path = addPath(end - start);
+        Node node = root;
+        for (int i = start; i < end; i++) {
+            int index = index(word[i]);
+            Node child = node.child(index);
+            if (child == null) {
+                child = new Node(i - start + 1);
+                node.setChild(index, child);
+            }
+            node = child;
+            path[i - start + 1] = node;
+        }
+        setWord(path, end - start, frequency);
     }
 
-
-    /** A private recursive method to check whether a given word is stored in the given subtree.
-     *  Checks if there is a node with isWord = true, such that if we concatenate all the letters
-     *  in the edges on the path from the root of the subtree to this node, we will get the given word
-     * Example: the tree below stores the word "ale", so check ("ale", root) would  return true.
-      a
-        l
-          e*
-     * @param word the string to check
-     * @param node the root of a subtree
-     * @return true if the word is in the dictionary, false otherwise
+    /**
+     * Returns addPath, big enough for a word of the given length, with the root in addPath[0]
+     * @param length number of letters in the word
      */
-    private boolean check(String word, Node node) {
-        // Base case - we have come to the end of the word
-        if (word.length() == 0) {
-            return node.isWord; // return the boolean value of 'valid bit'
+    private Node[] addPath(int length) {
+        if (length >= addPath.length) {
+            addPath = new Node[Math.max(length + 1, addPath.length * 2)];
         }
+        addPath[0] = root;
+        return addPath;
+    }
 
-        // Otherwise - get the index of the next character in the word
-        int index = (int) word.charAt(0) - (int) 'a';
-        // If the child node at the index is null, the word is not in the dictionary
-        if (node.children[index] == null) {
-            return false;
+    /**
+     * Marks the end of a path as a word, and updates the largest frequencies on the path
+     * @param path      path[d] is the node for the first d letters of the word
+     * @param length    number of letters in the word
+     * @param frequency the frequency of the word, or NO_FREQUENCY to keep the current one (0 for a new word)
+     */
+    private void setWord(Node[] path, int length, int frequency) {
+        Node node = path[length];
+        int oldFrequency = node.isWord ? node.frequency : -1;
+        if (frequency != NO_FREQUENCY) {
+            node.frequency = frequency;
+        } else if (!node.isWord) {
+            node.frequency = 0;
+        }
+        if (!node.isWord) {
+            size++;
         }
+        node.isWord = true;
 
-        // Recursive call - check the remaining part of the word
-        return check(word.substring(1), node.children[index]);
+        if (node.frequency >= oldFrequency) {
+            // The largest frequencies on the path can only grow; a node that is already high enough
+            // has ancestors that are high enough too
+            for (int depth = length; depth >= 0 && path[depth].maxFrequency < node.frequency; depth--) {
+                path[depth].maxFrequency = node.frequency;
+            }
+        } else {
+            // The frequency went down: recompute from the bottom up while anything changes
+            for (int depth = length; depth >= 0; depth--) {
+                if (!updateMaxFrequency(path[depth]) && depth < length) {
+                    break;
+                }
+            }
+        }
     }
 
     /**
-     * A private recursive method to check whether there is a word in the prefix tree
-     * that starts with the given prefix
-     * Example: consider the tree below.
-     * checkPrefix("a") should return true, because "ale" starts with "a".
-     * checkPrefix("al") should also return true because "ale" starts with "al".
-     * checkPrefix("ale") would also be true.
-     * On the other hand, checkPrefix ("le") will return false on the tree shown below.
-     * Because the tree stores a single word "ale" and it does not start with "le".
-     *
-       a
-         l
-           e*
+     * Recomputes the largest frequency of a word in the subtree of the node from its children
+     * @param node a node whose children are up to date
+     * @return true if the value changed
+     */
+    private static boolean updateMaxFrequency(Node node) {
+        int max = node.isWord ? node.frequency : -1;
+        for (int i = node.nextChild(0); i >= 0; i = node.nextChild(i + 1)) {
+            max = Math.max(max, node.child(i).maxFrequency);
+        }
+        boolean changed = max != node.maxFrequency;
+        node.maxFrequency = max;
+        return changed;
+    }
 
-     * @param prefix the prefix
-     * @param node root of the subtree
-     * @return true if there is at least one word in the dictionary that starts with this prefix, false otherwise
+    /**
+     * Sorts the lines of a chunk into buckets by first letter, and parses their frequencies
+     * @param chunk a piece of a word file
      */
-    private boolean checkPrefix(String prefix, Node node) {
+    private static void scan(Chunk chunk) {
+        String text = chunk.text;
+        int start = 0;
+        while (start < text.length()) {
+            int lineEnd = text.indexOf('\n', start);
+            int next = lineEnd < 0 ? text.length() : lineEnd + 1;
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            if (lineEnd > start && text.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
 
-        // Base case - end of prefix reached
-        if (prefix.length() == 0) {
-            return true;
+            int end = start;
+            while (end < lineEnd && text.charAt(end) != ' ' && text.charAt(end) != '\t') {
+                end++;
+            }
+            int frequency = NO_FREQUENCY;
+            if (end < lineEnd) {
+                frequency = Integer.parseInt(text.substring(end, lineEnd).trim());
+                if (frequency < 0) {
+                    throw new IllegalArgumentException("The frequency of \"" + text.substring(start, end)
+                            + "\" can not be negative: " + frequency);
+                }
+            }
+            int bucket = end == start ? 26 : index(text.charAt(start));
+            if (bucket < 0) {
+                throw new IllegalArgumentException("Can not add \"" + text.substring(start, end)
+                        + "\": only English letters are allowed");
+            }
+            chunk.add(bucket, start, end, frequency);
+            start = next;
         }
+    }
 
-        int index = (int) prefix.charAt(0) - (int) 'a'; // Get index of next char
-
-        // Check bounds
-        if (index < 0 || index > 26) {
-            return false;
+    /**
+     * Builds the subtree for words that start with the given letter
+     * @param chunks the pieces of the word file, in order, after scan
+     * @param letter index of the first letter
+     * @return a tree that holds only these words
+     */
+    private static PrefixTree build(List<Chunk> chunks, int letter) {
+        PrefixTree part = new PrefixTree();
+        Loader loader = part.new Loader();
+        for (Chunk chunk : chunks) {
+            int[] words = chunk.words[letter];
+            for (int i = 0; i < chunk.counts[letter]; i += 3) {
+                if (!loader.add(chunk.text, words[i], words[i + 1], words[i + 2])) {
+                    throw new IllegalArgumentException("Can not add \"" + chunk.text.substring(words[i], words[i + 1])
+                            + "\": only English letters are allowed");
+                }
+            }
         }
+        return part;
+    }
 
-        // Base case - no matching child for the current char
-        if (node.children[index] == null) {
-            return false;
+    /**
+     * Returns the index of the first space or tab in the line
+     * @param line a line of a word file
+     * @return index of the first whitespace character, or -1 if there is none
+     */
+    private static int firstSpace(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ' ' || line.charAt(i) == '\t') {
+                return i;
+            }
         }
+        return -1;
+    }
 
-        // Recursive call - proceed with next char in the prefix
-        return checkPrefix(prefix.substring(1), node.children[index]);
+    /** Finds the node we get to by following letters start..end-1 of the word from the root.
+     * Example: the tree below stores the word "ale", so find("al", 0, 2) returns the node for "al",
+     * and find("le", 0, 2) returns null.
+      a
+        l
+          e*
+     * @param word  the string to follow
+     * @param start index of the first letter
+     * @param end   index after the last letter
+     * @return the node at the end of the path, or null if there is no such path
+     */
+    private Node find(CharSequence word, int start, int end) {
+        Node node = root;
+        for (int i = start; i < end && node != null; i++) {
+            int index = index(word.charAt(i));
+            if (index < 0) {
+                return null; // no word contains this character
+            }
+            node = node.child(index);
+        }
+        return node;
+    }
 
+    /** Finds the node we get to by following letters start..end-1 of the char array from the root.
+     * @param word  the buffer to follow
+     * @param start index of the first letter
+     * @param end   index after the last letter
+     * @return the node at the end of the path, or null if there is no such path
+     */
+    private Node find(char[] word, int start, int end) {
+        Node node = root;
+        for (int i = start; i < end && node != null; i++) {
+            int index = index(word[i]);
+            if (index < 0) {
+                return null; // no word contains this character
+            }
+            node = node.child(index);
+        }
+        return node;
     }
 
     /**
@@ -223,42 +957,36 @@ public class PrefixTree implements Dictionary {
             // Check boolean flag and update it to false if necessary
             if (node.isWord) {
                 node.isWord = false;
+                size--;
+                updateMaxFrequency(node);
 
-                // Check if the node is a leaf node
-                boolean isLeaf = true;
-                for (int i = 0; i < 26; i++) {
-                    if (node.children[i] != null) {
-                        isLeaf = false; // Node has children, can't delete
-                        break;
-                    }
-                }
-                return isLeaf; // Node is a leaf, can delete
+                // A node without children is a leaf, and can be deleted
+                return !node.hasChildren();
             }
 
             return false; // Word not in tree
         }
 
         // Recursive case
-        int index = word.charAt(depth) - 'a'; // Get index for next char
-        boolean isChildLeaf = delete(word, node.children[index], depth + 1); // Check if child becomes leaf
+        int index = index(word.charAt(depth)); // Get index for next char
+        if (index < 0) {
+            return false; // Word not in tree: it has a character that is not a letter
+        }
+        boolean isChildLeaf = delete(word, node.child(index), depth + 1); // Check if child becomes leaf
 
         // We reach this point after base case in recursion is hit and we start returning back up
         // Now dealing with what happens as we go back up the tree
         if (isChildLeaf) {
-            node.children[index] = null; // Remove child if it's a leaf
+            node.removeChild(index); // Remove child if it's a leaf
 
             // Check if current node became a leaf
-            boolean isLeaf = true;
-            for (int i = 0; i < 26; i++) {
-                if (node.children[i] != null) {
-                    isLeaf = false; // Node still has children
-                    break;
-                }
-            }
+            boolean isLeaf = !node.hasChildren();
 
+            updateMaxFrequency(node);
             return isLeaf && !node.isWord; // Delete current node if it's a leaf and not a word
         }
 
+        updateMaxFrequency(node); // The deleted word may have been the most common one in this subtree
         return false; // Node not deleted, still has children or is a word
     }
 
@@ -288,27 +1016,26 @@ public class PrefixTree implements Dictionary {
         }
 
         // Recursive case - iterate through child nodes
-        for (int i = 0; i < 26; i++) {
-            if (node.children[i] != null) {
-                char ch = (char) ('a' + i); // character on the incoming edge of node.children[i]
+        for (int i = node.nextChild(0); i >= 0; i = node.nextChild(i + 1)) {
+            Node child = node.child(i);
+            char ch = (char) ('a' + i); // character on the incoming edge of child
 
-                // Print indentations
-                for (int j = 0; j < numIndentations; j++) {
-                    sb.append(" ");
-                }
+            // Print indentations
+            for (int j = 0; j < numIndentations; j++) {
+                sb.append(" ");
+            }
 
-                sb.append(ch); // Print the char
+            sb.append(ch); // Print the char
 
-                // Add '*' if this node marks the end of a valid word
-                if (node.children[i].isWord) {
-                    sb.append("*");
-                }
+            // Add '*' if this node marks the end of a valid word
+            if (child.isWord) {
+                sb.append("*");
+            }
 
-                sb.append(System.lineSeparator()); // Append new line char
+            sb.append(System.lineSeparator()); // Append new line char
 
-                // Recursive call to process child node
-                sb.append(toString(node.children[i], numIndentations + 1));
-            }
+            // Recursive call to process child node
+            sb.append(toString(child, numIndentations + 1));
         }
         return sb.toString();
     }
@@ -316,6 +1043,8 @@ public class PrefixTree implements Dictionary {
 
     /**
      * Suggests a word from the tree with the longest common prefix.
+     * Stops at the first word below the common prefix, so the cost depends on the length of the words,
+     * not on the number of words that share the prefix.
      *
      * @param word The word to suggest.
      * @param root The root node of the tree.
@@ -323,74 +1052,56 @@ public class PrefixTree implements Dictionary {
      */
     private String suggest(String word, Node root) {
         StringBuilder prefixBuilder = new StringBuilder();
-        Node prefixNode = longestCommonPrefix(word, root, prefixBuilder, 0);
-
-        // If no common prefix, return null
-        if (prefixNode == null) {
-            return null;
-        }
-        // Find valid words starting from the prefix node
-        ArrayList<String> validWords = new ArrayList<>();
-        findValidWords(prefixNode, prefixBuilder, validWords);
+        Node prefixNode = longestCommonPrefix(word, root, prefixBuilder);
 
-        if (validWords.size() == 0) {
-            return null;
-        } else {
-            return validWords.get(0);
-        }
+        // Find the first valid word starting from the prefix node
+        return leftmostWord(prefixNode, prefixBuilder) ? prefixBuilder.toString() : null;
     }
 
     /**
      * Finds the node with the longest common prefix with the given word in the tree
      *
      * @param word Target word
-     * @param node Current node (start with root).
+     * @param node Node to start from (the root).
      * @param prefixBuilder Builds the prefix as traversing.
-     * @param depth Current depth in tree.
-     * @return Node with longest common prefix, null if not found.
+     * @return Node with longest common prefix.
      */
-    private Node longestCommonPrefix(String word, Node node, StringBuilder prefixBuilder, int depth) {
-        // Base case: null node or full depth reached
-        if (node == null || depth == word.length()) {
-            return node;
-        }
-
-        int index = word.charAt(depth) - 'a'; // Index for char at current depth
-
-        // Traverse deeper if child exists for character
-        if (node.children[index] != null) {
-            prefixBuilder.append(word.charAt(depth));
-            return longestCommonPrefix(word, node.children[index], prefixBuilder, depth + 1);
+    private Node longestCommonPrefix(String word, Node node, StringBuilder prefixBuilder) {
+        for (int depth = 0; depth < word.length(); depth++) {
+            int index = index(word.charAt(depth)); // Index for char at current depth
+
+            // Stop where the path ends
+            Node child = index < 0 ? null : node.child(index);
+            if (child == null) {
+                break;
+            }
+            prefixBuilder.append((char) ('a' + index));
+            node = child;
         }
-
-        // Return node where path ends
         return node;
     }
 
     /**
-     * Collects valid words starting from a node.
+     * Finds the first valid word below a node, in "leftmost" order: the node itself,
+     * then the subtrees of its children from left to right. Returns as soon as it finds one.
      *
      * @param node        The node to start from.
-     * @param currentWord Builds words during traversal.
-     * @param validWords  Stores found valid words.
+     * @param currentWord Letters on the path to node; holds the word that was found on success.
+     * @return true if a word was found, false if there is no word below node.
      */
-    private void findValidWords(Node node, StringBuilder currentWord, ArrayList<String> validWords) {
-        if (node == null) {
-            return;
-        }
-        //If the node is a word ensure it is stored first in valid words
+    private boolean leftmostWord(Node node, StringBuilder currentWord) {
         if (node.isWord) {
-            validWords.add(currentWord.toString());
+            return true;
         }
 
-        for (int i = 0; i < 26; i++) {
-            if (node.children[i] != null) {
-                char charToAdd = (char) (i + 'a');
-                currentWord.append(charToAdd);
-                findValidWords(node.children[i], currentWord, validWords);
-                currentWord.deleteCharAt(currentWord.length() - 1); // Backtrack
+        for (int i = node.nextChild(0); i >= 0; i = node.nextChild(i + 1)) {
+            currentWord.append((char) (i + 'a'));
+            if (leftmostWord(node.child(i), currentWord)) {
+                return true;
             }
+            currentWord.deleteCharAt(currentWord.length() - 1); // Backtrack
         }
+        return false;
     }
 }
 
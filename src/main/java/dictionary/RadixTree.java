@@ -0,0 +1,521 @@
+package dictionary;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+
+/** RadixTree class, implements Dictionary interface.
+ *  A path-compressed prefix tree (radix tree, "Patricia trie"): a chain of nodes that have one child and
+ *  are not words is collapsed into one edge labeled with all of its letters. A word's tail takes one node
+ *  instead of one node per letter, and a lookup makes one pointer hop per edge instead of per letter.
+ *  Every node other than the root is a word or has at least two children; delete merges chains again
+ *  to keep it that way.
+ *  Children are kept as in PrefixTree: a bitmap of the first letters of their labels, and an array of
+ *  only the children that exist, in letter order. toString() prints the same text as PrefixTree,
+ *  one line per letter. */
+public class RadixTree implements TrieDictionary {
+
+    private static final char[] NO_LETTERS = new char[0]; // the label of the root
+
+    // --------- Private class Node ------------
+    /* Represents a node in the tree and the edge that leads to it */
+    private static class Node {
+        char[] label; // the letters on the edge from the parent to this node (lower case); empty for the root
+        int bitmap; // bit i is set if there is a child whose label starts with letter 'a' + i
+        Node[] children; // the children in letter order; the child for letter i is in slot bitCount(bitmap & ((1 << i) - 1))
+        boolean isWord; // true if the path from the root to this node spells a valid word
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        /** Returns the child whose label starts with the letter with the given index, or null */
+        Node child(int index) {
+            int bit = 1 << index;
+            return (bitmap & bit) == 0 ? null : children[Integer.bitCount(bitmap & (bit - 1))];
+        }
+
+        /** Returns the index of the first letter at or after from that starts a child's label, or -1 */
+        int nextChild(int from) {
+            int bits = from < 26 ? bitmap & (-1 << from) : 0;
+            return bits == 0 ? -1 : Integer.numberOfTrailingZeros(bits);
+        }
+
+        /** Sets the child whose label starts with the letter with the given index */
+        void setChild(int index, Node child) {
+            int bit = 1 << index;
+            int slot = Integer.bitCount(bitmap & (bit - 1));
+            if ((bitmap & bit) != 0) {
+                children[slot] = child;
+                return;
+            }
+            int count = Integer.bitCount(bitmap);
+            if (children == null) {
+                children = new Node[1];
+            } else if (count == children.length) {
+                children = Arrays.copyOf(children, Math.min(count * 2, 26));
+            }
+            System.arraycopy(children, slot, children, slot + 1, count - slot);
+            children[slot] = child;
+            bitmap |= bit;
+        }
+
+        /** Removes the child whose label starts with the letter with the given index */
+        void removeChild(int index) {
+            int bit = 1 << index;
+            int count = Integer.bitCount(bitmap);
+            int slot = Integer.bitCount(bitmap & (bit - 1));
+            System.arraycopy(children, slot + 1, children, slot, count - slot - 1);
+            children[count - 1] = null;
+            bitmap &= ~bit;
+            if (count == 1) {
+                children = null;
+            }
+        }
+    } // end of inner class Node
+
+    // --------- Private class Cursor ------------
+    /* Walks the tree one letter at a time. A position is a node and the number of letters of its label
+     * read so far; the cursor is at the node itself once the whole label has been read. */
+    private class Cursor implements TrieCursor {
+        private Node[] nodes = new Node[16]; // nodes[d] is the node whose edge holds the d-th letter of the path
+        private int[] offsets = new int[16]; // offsets[d] is the number of letters of nodes[d].label read at depth d
+        private int depth;
+
+        Cursor() {
+            nodes[0] = root;
+        }
+
+        @Override
+        public boolean advance(char ch) {
+            int index = index(ch);
+            if (index < 0) {
+                return false;
+            }
+            Node node = nodes[depth];
+            int offset = offsets[depth];
+            if (offset < node.label.length) {
+                if (node.label[offset] != (char) ('a' + index)) {
+                    return false;
+                }
+                push(node, offset + 1);
+                return true;
+            }
+            Node child = node.child(index);
+            if (child == null) {
+                return false;
+            }
+            push(child, 1);
+            return true;
+        }
+
+        @Override
+        public void back() {
+            if (depth > 0) {
+                nodes[depth--] = null;
+            }
+        }
+
+        @Override
+        public boolean isWord() {
+            return offsets[depth] == nodes[depth].label.length && nodes[depth].isWord;
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public void reset() {
+            while (depth > 0) {
+                nodes[depth--] = null;
+            }
+        }
+
+        @Override
+        public boolean firstChild() {
+            Node node = nodes[depth];
+            int offset = offsets[depth];
+            if (offset < node.label.length) {
+                push(node, offset + 1); // inside an edge there is only one way down
+                return true;
+            }
+            int i = node.nextChild(0);
+            if (i < 0) {
+                return false;
+            }
+            push(node.child(i), 1);
+            return true;
+        }
+
+        @Override
+        public boolean nextSibling() {
+            if (depth == 0 || offsets[depth] != 1) {
+                return false; // the parent position is inside an edge, so it has one child
+            }
+            Node parent = nodes[depth - 1];
+            int i = parent.nextChild(index(nodes[depth].label[0]) + 1);
+            if (i < 0) {
+                return false;
+            }
+            nodes[depth] = parent.child(i);
+            return true;
+        }
+
+        @Override
+        public char letter() {
+            return depth == 0 ? 0 : nodes[depth].label[offsets[depth] - 1];
+        }
+
+        /** Moves down one letter, to the given position */
+        private void push(Node node, int offset) {
+            if (depth + 1 == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            nodes[++depth] = node;
+            offsets[depth] = offset;
+        }
+    } // end of inner class Cursor
+
+    private final Node root = new Node(NO_LETTERS); // the root of the tree
+    private int size; // number of words in the tree
+
+    public RadixTree() {
+    }
+
+    /**
+     * Creates a radix tree using words from the given file.
+     * The file contains one word per line.
+     * @param filename the name of the file with words
+     */
+    public RadixTree(String filename) {
+        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                add(line);
+            }
+        } catch (IOException e) {
+            System.out.println("IO error.");
+        }
+    }
+
+    /** Adds a given word to the dictionary.
+     * Splits an edge in two if the word ends inside it or leaves it halfway.
+     * @param word the word to add to the dictionary
+     */
+    @Override
+    public void add(String word) {
+        char[] letters = new char[word.length()];
+        for (int i = 0; i < letters.length; i++) {
+            int index = index(word.charAt(i));
+            if (index < 0) {
+                throw new IllegalArgumentException("Can not add \"" + word + "\": only English letters are allowed");
+            }
+            letters[i] = (char) ('a' + index);
+        }
+
+        Node node = root;
+        int i = 0;
+        while (i < letters.length) {
+            int index = letters[i] - 'a';
+            Node child = node.child(index);
+            if (child == null) {
+                Node leaf = new Node(Arrays.copyOfRange(letters, i, letters.length));
+                leaf.isWord = true;
+                node.setChild(index, leaf);
+                size++;
+                return;
+            }
+            int common = commonLength(child.label, letters, i);
+            if (common < child.label.length) {
+                // The word leaves the edge (or ends) after common letters: put a node there
+                Node middle = new Node(Arrays.copyOf(child.label, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.setChild(child.label[0] - 'a', child);
+                node.setChild(index, middle);
+                child = middle;
+            }
+            node = child;
+            i += common;
+        }
+        if (!node.isWord) {
+            size++;
+        }
+        node.isWord = true;
+    }
+
+    /**
+     * Checks if a given word is in the dictionary
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean check(String word) {
+        Node node = find(word, true);
+        return node != null && node.isWord;
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the dictionary
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    @Override
+    public boolean checkPrefix(String prefix) {
+        return find(prefix, false) != null;
+    }
+
+    /**
+     * Deletes a given word from the tree. Removes the node of the word if it has no children,
+     * and merges a node that is left with a single child and no word into that child.
+     * @param word the word to be deleted
+     */
+    @Override
+    public void delete(String word) {
+        // Remember the nodes on the path, so that we can fix them on the way back up
+        Node[] path = new Node[word.length() + 1];
+        int length = 0;
+        Node node = root;
+        int i = 0;
+        path[length++] = node;
+        while (i < word.length()) {
+            int index = index(word.charAt(i));
+            Node child = index < 0 ? null : node.child(index);
+            if (child == null || !matches(child.label, word, i)) {
+                return; // word not in tree
+            }
+            node = child;
+            i += child.label.length;
+            path[length++] = node;
+        }
+        if (!node.isWord) {
+            return; // word not in tree
+        }
+        node.isWord = false;
+        size--;
+        if (node == root) {
+            return;
+        }
+
+        Node parent = path[length - 2];
+        if (node.bitmap == 0) {
+            parent.removeChild(node.label[0] - 'a');
+            if (parent != root) {
+                merge(path[length - 3], parent);
+            }
+        } else {
+            merge(parent, node);
+        }
+    }
+
+    /**
+     * If the word is a valid word in the tree, return the word.
+     * Otherwise, return the word from the "leftmost" branch below the longest common prefix
+     * of the given word and the tree (the same word PrefixTree would return).
+     * @param word the target word
+     * @return a valid word from the tree that has the longest common prefix with the given word
+     */
+    @Override
+    public String suggest(String word) {
+        StringBuilder prefix = new StringBuilder();
+        Node node = root;
+        int i = 0;
+        while (i < word.length()) {
+            int index = index(word.charAt(i));
+            Node child = index < 0 ? null : node.child(index);
+            if (child == null) {
+                break;
+            }
+            // All words below the edge start with its whole label, even if the word leaves it halfway
+            prefix.append(child.label);
+            node = child;
+            if (!matches(child.label, word, i)) {
+                break;
+            }
+            i += child.label.length;
+        }
+
+        // Every leaf is a word, so the leftmost word is down the first children
+        while (!node.isWord) {
+            int first = node.nextChild(0);
+            if (first < 0) {
+                return null; // the tree is empty
+            }
+            node = node.child(first);
+            prefix.append(node.label);
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Returns a cursor positioned at the root of this tree. The cursor moves one letter at a time,
+     * like cursors of other trees, even inside a long edge.
+     * @return a new cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the number of words in the tree
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of nodes in the tree, including the root
+     * @return number of nodes
+     */
+    public int numNodes() {
+        return numNodes(root);
+    }
+
+    /** Return a string representation of the tree, in the same format as PrefixTree.toString():
+     * one line per letter, as if the edges were not compressed.
+     * @return string, representing the tree.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        toString(root, 0, sb);
+        return sb.toString();
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /**
+     * Returns the index of the child that corresponds to the given letter.
+     * Upper case letters are treated as lower case ones.
+     * @param ch a letter
+     * @return index of the letter, or -1 if ch is not an English letter
+     */
+    private static int index(char ch) {
+        if (ch >= 'A' && ch <= 'Z') {
+            ch = (char) (ch + ('a' - 'A'));
+        }
+        int index = ch - 'a';
+        return index >= 0 && index < 26 ? index : -1;
+    }
+
+    /**
+     * Returns the number of letters at the start of the label that match the letters from start on
+     * @param label   the label of an edge
+     * @param letters a word in lower case
+     * @param start   index of the first letter to compare
+     * @return length of the common prefix of the label and letters[start..]
+     */
+    private static int commonLength(char[] label, char[] letters, int start) {
+        int n = Math.min(label.length, letters.length - start);
+        int common = 0;
+        while (common < n && label[common] == letters[start + common]) {
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * Checks if the whole label matches the letters of the word from start on
+     * @param label the label of an edge
+     * @param word  a word, in any case
+     * @param start index of the first letter to compare
+     * @return true if word has the letters of label at start
+     */
+    private static boolean matches(char[] label, CharSequence word, int start) {
+        if (start + label.length > word.length()) {
+            return false;
+        }
+        for (int j = 0; j < label.length; j++) {
+            if (index(word.charAt(start + j)) != label[j] - 'a') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Follows the letters of the word from the root
+     * @param word  the string to follow
+     * @param exact true if the word must end at a node, false if it can also end inside an edge
+     * @return the node at the end of the path (or whose edge the path ends in),
+     * or null if there is no such path
+     */
+    private Node find(CharSequence word, boolean exact) {
+        Node node = root;
+        int i = 0;
+        while (i < word.length()) {
+            int index = index(word.charAt(i));
+            Node child = index < 0 ? null : node.child(index);
+            if (child == null) {
+                return null;
+            }
+            int n = Math.min(child.label.length, word.length() - i);
+            for (int j = 1; j < n; j++) {
+                if (index(word.charAt(i + j)) != child.label[j] - 'a') {
+                    return null;
+                }
+            }
+            if (n < child.label.length && exact) {
+                return null; // the word ends inside the edge
+            }
+            node = child;
+            i += n;
+        }
+        return node;
+    }
+
+    /**
+     * Merges the node into its only child if it is no longer a word, so that no chain is left uncompressed
+     * @param parent the parent of node
+     * @param node   a node other than the root
+     */
+    private static void merge(Node parent, Node node) {
+        if (node.isWord || Integer.bitCount(node.bitmap) != 1) {
+            return;
+        }
+        Node child = node.children[0];
+        char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+        System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+        child.label = label;
+        parent.setChild(label[0] - 'a', child);
+    }
+
+    /** Returns the number of nodes in the subtree of the node */
+    private static int numNodes(Node node) {
+        int count = 1;
+        for (int i = node.nextChild(0); i >= 0; i = node.nextChild(i + 1)) {
+            count += numNodes(node.child(i));
+        }
+        return count;
+    }
+
+    /**
+     * Appends the subtree of the node to sb, in the format of PrefixTree.toString()
+     * @param node            the root of the subtree
+     * @param numIndentations the number of indentations of the first letter of each child's label
+     * @param sb              where to append the result
+     */
+    private static void toString(Node node, int numIndentations, StringBuilder sb) {
+        for (int i = node.nextChild(0); i >= 0; i = node.nextChild(i + 1)) {
+            Node child = node.child(i);
+            for (int k = 0; k < child.label.length; k++) {
+                for (int j = 0; j < numIndentations + k; j++) {
+                    sb.append(" ");
+                }
+                sb.append(child.label[k]);
+                if (k == child.label.length - 1 && child.isWord) {
+                    sb.append("*");
+                }
+                sb.append(System.lineSeparator());
+            }
+            toString(child, numIndentations + child.label.length, sb);
+        }
+    }
+}
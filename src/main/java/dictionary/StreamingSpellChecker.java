@@ -0,0 +1,275 @@
+package dictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/** Spell-checks text files of any size against a TrieDictionary.
+ *  The file is read through a FileChannel in batches of bytes, each cut after the last separator it holds,
+ *  so no word is split between two batches. Worker threads scan the batches in place: a word is followed
+ *  through the dictionary with a cursor, straight from the bytes, and a String is only made for a word
+ *  that is misspelled. At most maxInFlight batches are read ahead of the oldest one still being checked;
+ *  when that many are in flight, reading waits, so memory stays bounded however big the file is.
+ *  Misspellings are reported in the order of the file.
+ *
+ *  A token is a run of bytes that are letters, digits, apostrophes or part of a non-ASCII character.
+ *  Only tokens made of English letters alone are checked; numbers, contractions, identifiers and
+ *  words in other scripts are skipped, since a TrieDictionary can not hold them.
+ *  The dictionary must not change while a file is being checked. Words of running text come in no useful
+ *  order, so most lookups miss the CPU cache; a Dawg of the word list (or a MappedDictionary) is small
+ *  enough to stay in cache, and checks several times faster than a PrefixTree. */
+public class StreamingSpellChecker {
+    private static final int BATCH_SIZE = 1 << 20; // bytes read per batch
+
+    private final TrieDictionary dict; // the words that are spelled correctly
+    private final Executor workers; // threads that scan the batches
+    private final int maxInFlight; // largest number of batches read but not yet reported
+    private final int batchSize; // bytes read per batch (more if a single token is longer)
+
+    /** A word that is not in the dictionary */
+    public static final class Misspelling {
+        private final long offset;
+        private final String word;
+        private final String suggestion;
+
+        Misspelling(long offset, String word, String suggestion) {
+            this.offset = offset;
+            this.word = word;
+            this.suggestion = suggestion;
+        }
+
+        /**
+         * Returns where the word is in the file
+         * @return offset of the first byte of the word from the start of the file
+         */
+        public long offset() {
+            return offset;
+        }
+
+        /**
+         * Returns the word as it appears in the file
+         * @return the misspelled word
+         */
+        public String word() {
+            return word;
+        }
+
+        /**
+         * Returns what the dictionary suggests instead (see Dictionary.suggest)
+         * @return the suggestion, or null if the dictionary is empty
+         */
+        public String suggestion() {
+            return suggestion;
+        }
+
+        @Override
+        public String toString() {
+            return offset + ": " + word + " -> " + suggestion;
+        }
+    } // end of class Misspelling
+
+    // --------- Private class Batch ------------
+    /* A piece of the file, and what was found in it */
+    private static class Batch {
+        final ByteBuffer buffer; // holds the bytes of the batch from index 0
+        final int length; // number of bytes of the batch in buffer
+        final long offset; // offset of the first byte in the file
+        final List<Misspelling> misspellings = new ArrayList<>();
+        long words; // number of tokens that were checked
+
+        Batch(ByteBuffer buffer, int length, long offset) {
+            this.buffer = buffer;
+            this.length = length;
+            this.offset = offset;
+        }
+    } // end of inner class Batch
+
+    /**
+     * Creates a spell checker that scans on the common fork-join pool,
+     * with two batches in flight per core.
+     * @param dict the words that are spelled correctly
+     */
+    public StreamingSpellChecker(TrieDictionary dict) {
+        this(dict, ForkJoinPool.commonPool(), 2 * Runtime.getRuntime().availableProcessors(), BATCH_SIZE);
+    }
+
+    /**
+     * Creates a spell checker
+     * @param dict        the words that are spelled correctly
+     * @param workers     threads that scan the batches
+     * @param maxInFlight largest number of batches read but not yet reported
+     * @param batchSize   number of bytes read per batch
+     */
+    public StreamingSpellChecker(TrieDictionary dict, Executor workers, int maxInFlight, int batchSize) {
+        if (maxInFlight <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("maxInFlight and batchSize must be positive: "
+                    + maxInFlight + ", " + batchSize);
+        }
+        this.dict = dict;
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Checks every word of a file, and reports each misspelling as soon as the batches before it are done.
+     * @param filename the file to check (ASCII or UTF-8 text)
+     * @param out      receives the misspellings, in the order of the file, on the calling thread
+     * @return the number of words that were checked
+     * @throws IOException if the file can not be read
+     */
+    public long check(String filename, Consumer<Misspelling> out) throws IOException {
+        ArrayDeque<CompletableFuture<Batch>> inFlight = new ArrayDeque<>();
+        ArrayDeque<ByteBuffer> free = new ArrayDeque<>(); // buffers of batches that were reported
+        long words = 0;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filename))) {
+            ByteBuffer buffer = ByteBuffer.allocate(batchSize);
+            long offset = 0; // offset in the file of the first byte in buffer
+            while (true) {
+                boolean eof = fill(channel, buffer);
+                int end = buffer.position();
+                int cut = eof ? end : afterLastSeparator(buffer.array(), end);
+                if (cut == 0 && !eof) {
+                    // One token fills the whole buffer: read more of it into a bigger one
+                    ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+                    buffer.flip();
+                    buffer = bigger.put(buffer);
+                    continue;
+                }
+
+                // Back-pressure: wait for the oldest batch before reading any further
+                if (inFlight.size() == maxInFlight) {
+                    words += report(inFlight.poll().join(), out, free);
+                }
+                Batch batch = new Batch(buffer, cut, offset);
+                inFlight.add(CompletableFuture.supplyAsync(() -> scan(batch), workers));
+                if (eof) {
+                    break;
+                }
+
+                // The bytes after the cut start the next batch
+                ByteBuffer next = free.isEmpty() ? ByteBuffer.allocate(batchSize) : free.poll();
+                if (next.capacity() < end - cut) {
+                    next = ByteBuffer.allocate(Math.max(batchSize, 2 * (end - cut)));
+                }
+                next.put(buffer.array(), cut, end - cut);
+                offset += cut;
+                buffer = next;
+            }
+        } finally {
+            while (!inFlight.isEmpty()) {
+                words += report(inFlight.poll().join(), out, free);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Checks every word of a file
+     * @param filename the file to check (ASCII or UTF-8 text)
+     * @return the misspellings, in the order of the file
+     * @throws IOException if the file can not be read
+     */
+    public List<Misspelling> check(String filename) throws IOException {
+        List<Misspelling> misspellings = new ArrayList<>();
+        check(filename, misspellings::add);
+        return misspellings;
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /**
+     * Reads from the channel until the buffer is full or the file ends
+     * @return true if the file ended
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Passes the misspellings of a finished batch on, and keeps its buffer for another batch */
+    private static long report(Batch batch, Consumer<Misspelling> out, ArrayDeque<ByteBuffer> free) {
+        for (Misspelling misspelling : batch.misspellings) {
+            out.accept(misspelling);
+        }
+        batch.buffer.clear();
+        free.add(batch.buffer);
+        return batch.words;
+    }
+
+    /**
+     * Finds where to cut a batch so that no token is split
+     * @param bytes the bytes read so far
+     * @param end   number of bytes read
+     * @return index after the last separator, or 0 if there is none
+     */
+    private static int afterLastSeparator(byte[] bytes, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (!isTokenByte(bytes[i])) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /** Returns true if the byte can be part of a token: a letter, a digit, an apostrophe or part of a non-ASCII character */
+    private static boolean isTokenByte(byte b) {
+        return isLetter(b) || (b >= '0' && b <= '9') || b == '\'' || b < 0;
+    }
+
+    /** Returns true if the byte is an English letter, in either case */
+    private static boolean isLetter(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+    }
+
+    /**
+     * Checks the words of a batch. Runs on a worker thread.
+     * @param batch the batch to check
+     * @return the batch, with its misspellings
+     */
+    private Batch scan(Batch batch) {
+        byte[] bytes = batch.buffer.array();
+        TrieCursor cursor = dict.cursor();
+        int i = 0;
+        while (i < batch.length) {
+            if (!isTokenByte(bytes[i])) {
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean letters = true;
+            for (; i < batch.length && isTokenByte(bytes[i]); i++) {
+                letters &= isLetter(bytes[i]);
+            }
+            if (!letters) {
+                continue; // not an English word
+            }
+            batch.words++;
+
+            cursor.reset();
+            boolean found = true;
+            for (int j = start; j < i && found; j++) {
+                found = cursor.advance((char) bytes[j]);
+            }
+            if (!found || !cursor.isWord()) {
+                String word = new String(bytes, start, i - start, StandardCharsets.US_ASCII);
+                batch.misspellings.add(new Misspelling(batch.offset + start, word, dict.suggest(word)));
+            }
+        }
+        return batch;
+    }
+}
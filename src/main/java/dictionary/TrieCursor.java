@@ -0,0 +1,86 @@
+package dictionary;
+
+/** A cursor that walks a prefix tree one edge at a time.
+ *  The cursor starts at the root (the empty prefix). Each successful call to advance
+ *  moves it down one edge, and each call to back undoes the most recent advance.
+ *  Lets callers such as the Boggle solver follow the tree alongside their own search,
+ *  instead of checking every candidate word from the root. */
+public interface TrieCursor {
+
+    /**
+     * Moves the cursor down the edge labeled with the given character.
+     * @param ch the label of the edge to follow (case-insensitive)
+     * @return true if the current node has such a child (the cursor moved),
+     * false otherwise (the cursor stays where it was)
+     */
+    boolean advance(char ch);
+
+    /**
+     * Moves the cursor down the edges labeled with the given characters, one after another.
+     * Lets a caller follow a Boggle tile with more than one letter, such as "Qu", as a single step.
+     * @param letters the labels of the edges to follow (case-insensitive)
+     * @return true if the tree has the whole path (the cursor moved down letters.length edges),
+     * false otherwise (the cursor stays where it was)
+     */
+    default boolean advance(char[] letters) {
+        for (int i = 0; i < letters.length; i++) {
+            if (!advance(letters[i])) {
+                back(i);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the cursor back up to the node it was at before the last successful advance.
+     */
+    void back();
+
+    /**
+     * Moves the cursor back up the given number of edges, undoing advance(letters) with steps = letters.length.
+     * @param steps the number of edges to go back up
+     */
+    default void back(int steps) {
+        for (int i = 0; i < steps; i++) {
+            back();
+        }
+    }
+
+    /**
+     * Checks whether the path from the root to the current node spells a valid word
+     * @return true if the current node marks the end of a word
+     */
+    boolean isWord();
+
+    /**
+     * Returns the number of edges between the root and the current node
+     * @return depth of the current node
+     */
+    int depth();
+
+    /**
+     * Moves the cursor back to the root of the tree.
+     */
+    void reset();
+
+    /**
+     * Moves the cursor down to the child of the current node with the smallest letter.
+     * Together with nextSibling, lets callers visit children in alphabetical order.
+     * @return true if the current node has children (the cursor moved), false otherwise
+     */
+    boolean firstChild();
+
+    /**
+     * Moves the cursor sideways to the next child of the parent of the current node,
+     * in alphabetical order. The depth of the cursor does not change.
+     * @return true if there is such a sibling (the cursor moved), false otherwise
+     */
+    boolean nextSibling();
+
+    /**
+     * Returns the letter on the edge that leads to the current node
+     * @return the letter of the current node, or 0 at the root
+     */
+    char letter();
+}
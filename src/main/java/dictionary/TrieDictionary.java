@@ -0,0 +1,19 @@
+package dictionary;
+
+/** A Dictionary that is stored as a prefix tree and lets callers walk it
+ *  node by node through a TrieCursor. */
+public interface TrieDictionary extends Dictionary {
+
+    /**
+     * Returns a new cursor positioned at the root of the tree.
+     * A cursor is not thread-safe; each thread should use its own.
+     * @return a cursor over this dictionary
+     */
+    TrieCursor cursor();
+
+    /**
+     * Returns the number of words in the dictionary, without walking the tree
+     * @return the number of words
+     */
+    int size();
+}
@@ -0,0 +1,451 @@
+package dictionary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/** UnicodePrefixTree class, implements Dictionary interface.
+ *  A prefix tree over any Alphabet, so words can have apostrophes, digits, accented letters
+ *  or letters of other scripts. Edges are labeled with chars (UTF-16 code units).
+ *  If the alphabet is small, every node has a dense array of children indexed by letter, like PrefixTree;
+ *  otherwise (e.g. Alphabet.UNICODE) every node keeps the letters of its children in a sorted array
+ *  and finds a child by binary search, so a node only takes space for the children it has.
+ *  Children are always visited in the order of the alphabet; with Alphabet.ENGLISH the tree
+ *  prints the same way as PrefixTree. Word files are read as UTF-8. */
+public class UnicodePrefixTree implements TrieDictionary {
+
+    private static final int DENSE_LIMIT = 64; // alphabets up to this size get dense arrays of children
+
+    // --------- Private class Node ------------
+    /* Represents a node in the tree. Children are found through slots: in a dense node, the slot of a child
+     * is the index of its letter; in a sparse node, slots 0..count-1 hold the children in letter order */
+    private static class Node {
+        Node[] children; // the children, by slot; null in a sparse node that has none
+        char[] letters; // sparse nodes only: letters[s] is the index of the letter of the child in slot s
+        int count; // sparse nodes only: number of children
+        boolean isWord; // true if the path from the root to this node spells a valid word
+    } // end of inner class Node
+
+    // --------- Private class Cursor ------------
+    /* Walks the tree one edge at a time; keeps the nodes on the current path and the slots they are in */
+    private class Cursor implements TrieCursor {
+        private Node[] path = new Node[16]; // path[0] is the root, path[depth] is the current node
+        private int[] slots = new int[16]; // slots[d] is the slot of path[d] in path[d - 1]
+        private int depth;
+
+        Cursor() {
+            path[0] = root;
+        }
+
+        @Override
+        public boolean advance(char ch) {
+            int index = alphabet.index(ch);
+            int slot = index < 0 ? -1 : slot(path[depth], index);
+            if (slot < 0) {
+                return false;
+            }
+            push(path[depth].children[slot], slot);
+            return true;
+        }
+
+        @Override
+        public void back() {
+            if (depth > 0) {
+                path[depth--] = null;
+            }
+        }
+
+        @Override
+        public boolean isWord() {
+            return path[depth].isWord;
+        }
+
+        @Override
+        public int depth() {
+            return depth;
+        }
+
+        @Override
+        public void reset() {
+            while (depth > 0) {
+                path[depth--] = null;
+            }
+        }
+
+        @Override
+        public boolean firstChild() {
+            Node node = path[depth];
+            int slot = nextSlot(node, 0);
+            if (slot < 0) {
+                return false;
+            }
+            push(node.children[slot], slot);
+            return true;
+        }
+
+        @Override
+        public boolean nextSibling() {
+            if (depth == 0) {
+                return false;
+            }
+            Node parent = path[depth - 1];
+            int slot = nextSlot(parent, slots[depth] + 1);
+            if (slot < 0) {
+                return false;
+            }
+            path[depth] = parent.children[slot];
+            slots[depth] = slot;
+            return true;
+        }
+
+        @Override
+        public char letter() {
+            return depth == 0 ? 0 : alphabet.letter(letterIndex(path[depth - 1], slots[depth]));
+        }
+
+        /** Moves down to the given child, which is in the given slot of the current node */
+        private void push(Node child, int slot) {
+            if (depth + 1 == path.length) {
+                path = Arrays.copyOf(path, path.length * 2);
+                slots = Arrays.copyOf(slots, slots.length * 2);
+            }
+            path[++depth] = child;
+            slots[depth] = slot;
+        }
+    } // end of inner class Cursor
+
+    private final Alphabet alphabet; // the letters words can have
+    private final boolean dense; // true if every node has a dense array of children
+    private final Node root; // the root of the tree
+    private int size; // number of words in the tree
+
+    /**
+     * Creates an empty tree for words over the given alphabet
+     * @param alphabet the letters words can have
+     */
+    public UnicodePrefixTree(Alphabet alphabet) {
+        this.alphabet = alphabet;
+        this.dense = alphabet.size() <= DENSE_LIMIT;
+        this.root = newNode();
+    }
+
+    /**
+     * Creates a tree for words over the given alphabet, using words from the given UTF-8 file.
+     * The file contains one word per line.
+     * @param filename the name of the file with words
+     * @param alphabet the letters words can have
+     */
+    public UnicodePrefixTree(String filename, Alphabet alphabet) {
+        this(alphabet);
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(filename), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                add(line);
+            }
+        } catch (IOException e) {
+            System.out.println("IO error.");
+        }
+    }
+
+    /**
+     * Returns the alphabet of this tree
+     * @return the letters words can have
+     */
+    public Alphabet alphabet() {
+        return alphabet;
+    }
+
+    /** Adds a given word to the dictionary.
+     * @param word the word to add to the dictionary
+     * @throws IllegalArgumentException if the word has a character that is not in the alphabet
+     */
+    @Override
+    public void add(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (alphabet.index(word.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Can not add \"" + word + "\": '" + word.charAt(i)
+                        + "' is not in the alphabet");
+            }
+        }
+
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = childOrNew(node, alphabet.index(word.charAt(i)));
+        }
+        if (!node.isWord) {
+            size++;
+        }
+        node.isWord = true;
+    }
+
+    /**
+     * Checks if a given word is in the dictionary
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean check(String word) {
+        Node node = find(word);
+        return node != null && node.isWord;
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the dictionary
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    @Override
+    public boolean checkPrefix(String prefix) {
+        return find(prefix) != null;
+    }
+
+    /**
+     * Deletes a given word from the tree, and cuts off the branch that only led to this word.
+     * @param word the word to be deleted
+     */
+    @Override
+    public void delete(String word) {
+        // Remember the path, so that we can remove nodes on the way back up
+        Node[] path = new Node[word.length() + 1];
+        int[] letters = new int[word.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < word.length(); i++) {
+            letters[i + 1] = alphabet.index(word.charAt(i));
+            int slot = letters[i + 1] < 0 ? -1 : slot(path[i], letters[i + 1]);
+            if (slot < 0) {
+                return; // word not in tree
+            }
+            path[i + 1] = path[i].children[slot];
+        }
+        Node node = path[word.length()];
+        if (!node.isWord) {
+            return; // word not in tree
+        }
+        node.isWord = false;
+        size--;
+
+        // Cut off nodes that are no longer on the path to any word
+        for (int depth = word.length(); depth > 0; depth--) {
+            node = path[depth];
+            if (node.isWord || nextSlot(node, 0) >= 0) {
+                break;
+            }
+            removeChild(path[depth - 1], letters[depth]);
+        }
+    }
+
+    /**
+     * If the word is a valid word in the tree, return the word.
+     * Otherwise, return the word from the "leftmost" branch below the longest common prefix
+     * of the given word and the tree, where "leftmost" follows the order of the alphabet.
+     * Letters of the result are in lower case.
+     * @param word the target word
+     * @return a valid word from the tree that has the longest common prefix with the given word
+     */
+    @Override
+    public String suggest(String word) {
+        StringBuilder prefix = new StringBuilder();
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            int index = alphabet.index(word.charAt(i));
+            int slot = index < 0 ? -1 : slot(node, index);
+            if (slot < 0) {
+                break;
+            }
+            prefix.append(alphabet.letter(index));
+            node = node.children[slot];
+        }
+        return leftmostWord(node, prefix) ? prefix.toString() : null;
+    }
+
+    /**
+     * Returns a cursor positioned at the root of this tree.
+     * @return a new cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns the number of words in the tree
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** Return a string representation of the prefix tree,
+     * in the same format as PrefixTree.toString(), with children in the order of the alphabet.
+     * @return string, representing the tree.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        toString(root, 0, sb);
+        return sb.toString();
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /** Creates a node with no children, in the representation this tree uses */
+    private Node newNode() {
+        Node node = new Node();
+        if (dense) {
+            node.children = new Node[alphabet.size()];
+        }
+        return node;
+    }
+
+    /**
+     * Finds the slot of the child for the given letter
+     * @param node  a node
+     * @param index the index of a letter
+     * @return the slot of the child, or -1 if the node has no child for this letter
+     */
+    private int slot(Node node, int index) {
+        if (dense) {
+            return node.children[index] == null ? -1 : index;
+        }
+        if (node.count == 0) {
+            return -1;
+        }
+        int slot = Arrays.binarySearch(node.letters, 0, node.count, (char) index);
+        return slot >= 0 ? slot : -1;
+    }
+
+    /**
+     * Finds the first slot at or after from that holds a child
+     * @param node a node
+     * @param from the slot to start from
+     * @return the slot, or -1 if there is none
+     */
+    private int nextSlot(Node node, int from) {
+        if (!dense) {
+            return from < node.count ? from : -1;
+        }
+        for (int slot = from; slot < node.children.length; slot++) {
+            if (node.children[slot] != null) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /** Returns the index of the letter of the child in the given slot */
+    private int letterIndex(Node node, int slot) {
+        return dense ? slot : node.letters[slot];
+    }
+
+    /**
+     * Returns the child for the given letter, creating it if the node does not have it yet
+     * @param node  a node
+     * @param index the index of a letter
+     * @return the child
+     */
+    private Node childOrNew(Node node, int index) {
+        if (dense) {
+            if (node.children[index] == null) {
+                node.children[index] = newNode();
+            }
+            return node.children[index];
+        }
+        if (node.letters == null) {
+            node.letters = new char[2];
+            node.children = new Node[2];
+        }
+        int slot = Arrays.binarySearch(node.letters, 0, node.count, (char) index);
+        if (slot >= 0) {
+            return node.children[slot];
+        }
+        slot = -slot - 1; // where the new letter goes to keep the letters sorted
+        if (node.count == node.letters.length) {
+            node.letters = Arrays.copyOf(node.letters, node.count * 2);
+            node.children = Arrays.copyOf(node.children, node.count * 2);
+        }
+        System.arraycopy(node.letters, slot, node.letters, slot + 1, node.count - slot);
+        System.arraycopy(node.children, slot, node.children, slot + 1, node.count - slot);
+        Node child = newNode();
+        node.letters[slot] = (char) index;
+        node.children[slot] = child;
+        node.count++;
+        return child;
+    }
+
+    /** Removes the child for the given letter, which the node must have */
+    private void removeChild(Node node, int index) {
+        if (dense) {
+            node.children[index] = null;
+            return;
+        }
+        int slot = slot(node, index);
+        System.arraycopy(node.letters, slot + 1, node.letters, slot, node.count - slot - 1);
+        System.arraycopy(node.children, slot + 1, node.children, slot, node.count - slot - 1);
+        node.children[--node.count] = null;
+    }
+
+    /**
+     * Follows the letters of the word from the root
+     * @param word the string to follow
+     * @return the node at the end of the path, or null if there is no such path
+     */
+    private Node find(String word) {
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            int index = alphabet.index(word.charAt(i));
+            int slot = index < 0 ? -1 : slot(node, index);
+            if (slot < 0) {
+                return null;
+            }
+            node = node.children[slot];
+        }
+        return node;
+    }
+
+    /**
+     * Finds the first word below a node, in "leftmost" order: the node itself,
+     * then the subtrees of its children in the order of the alphabet.
+     * @param node   the node to start from
+     * @param prefix letters on the path to node; on success, holds the word that was found
+     * @return true if a word was found
+     */
+    private boolean leftmostWord(Node node, StringBuilder prefix) {
+        if (node.isWord) {
+            return true;
+        }
+        for (int slot = nextSlot(node, 0); slot >= 0; slot = nextSlot(node, slot + 1)) {
+            prefix.append(alphabet.letter(letterIndex(node, slot)));
+            if (leftmostWord(node.children[slot], prefix)) {
+                return true;
+            }
+            prefix.setLength(prefix.length() - 1); // Backtrack
+        }
+        return false;
+    }
+
+    /**
+     * Appends the subtree of the node to sb, in the format of PrefixTree.toString()
+     * @param node            the root of the subtree
+     * @param numIndentations the number of indentations to print at the current level
+     * @param sb              where to append the result
+     */
+    private void toString(Node node, int numIndentations, StringBuilder sb) {
+        for (int slot = nextSlot(node, 0); slot >= 0; slot = nextSlot(node, slot + 1)) {
+            Node child = node.children[slot];
+            for (int j = 0; j < numIndentations; j++) {
+                sb.append(" ");
+            }
+            sb.append(alphabet.letter(letterIndex(node, slot)));
+            if (child.isWord) {
+                sb.append("*");
+            }
+            sb.append(System.lineSeparator());
+            toString(child, numIndentations + 1, sb);
+        }
+    }
+}
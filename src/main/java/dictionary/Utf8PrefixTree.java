@@ -0,0 +1,294 @@
+package dictionary;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+
+/** Utf8PrefixTree class, implements Dictionary interface.
+ *  A prefix tree over the UTF-8 bytes of words, so it takes words in any language without an alphabet.
+ *  Words are stored in lower case. Every node keeps the bytes of its children in a sorted array, so a
+ *  node with one child costs two small arrays, and children are visited in byte order, which for UTF-8
+ *  is the order of Unicode code points. A letter outside ASCII takes two to four edges.
+ *  Word files are read as UTF-8. */
+public class Utf8PrefixTree implements Dictionary {
+
+    // --------- Private class Node ------------
+    /* Represents a node in the tree; slots 0..count-1 hold the children, sorted by byte */
+    private static class Node {
+        byte[] bytes; // bytes[s] is the byte on the edge to the child in slot s (compared as unsigned)
+        Node[] children; // the children, by slot; null if there are none
+        int count; // number of children
+        boolean isWord; // true if the path from the root to this node spells a valid word
+    } // end of inner class Node
+
+    private final Node root = new Node(); // the root of the tree
+
+    public Utf8PrefixTree() {
+    }
+
+    /**
+     * Creates a tree using words from the given UTF-8 file.
+     * The file contains one word per line.
+     * @param filename the name of the file with words
+     */
+    public Utf8PrefixTree(String filename) {
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(filename), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                add(line);
+            }
+        } catch (IOException e) {
+            System.out.println("IO error.");
+        }
+    }
+
+    /** Adds a given word to the dictionary.
+     * @param word the word to add to the dictionary
+     * @throws IllegalArgumentException if the word is not valid Unicode (it has a lone surrogate)
+     */
+    @Override
+    public void add(String word) {
+        byte[] bytes = encode(word);
+        if (bytes == null) {
+            throw new IllegalArgumentException("Can not add \"" + word + "\": it is not valid Unicode");
+        }
+        Node node = root;
+        for (byte b : bytes) {
+            node = childOrNew(node, b);
+        }
+        node.isWord = true;
+    }
+
+    /**
+     * Checks if a given word is in the dictionary
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean check(String word) {
+        Node node = find(word);
+        return node != null && node.isWord;
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the dictionary
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    @Override
+    public boolean checkPrefix(String prefix) {
+        return find(prefix) != null;
+    }
+
+    /**
+     * Deletes a given word from the tree, and cuts off the branch that only led to this word.
+     * @param word the word to be deleted
+     */
+    @Override
+    public void delete(String word) {
+        byte[] bytes = encode(word);
+        if (bytes == null) {
+            return; // word not in tree
+        }
+        // Remember the path, so that we can remove nodes on the way back up
+        Node[] path = new Node[bytes.length + 1];
+        path[0] = root;
+        for (int i = 0; i < bytes.length; i++) {
+            int slot = slot(path[i], bytes[i]);
+            if (slot < 0) {
+                return; // word not in tree
+            }
+            path[i + 1] = path[i].children[slot];
+        }
+        Node node = path[bytes.length];
+        if (!node.isWord) {
+            return; // word not in tree
+        }
+        node.isWord = false;
+
+        // Cut off nodes that are no longer on the path to any word
+        for (int depth = bytes.length; depth > 0; depth--) {
+            node = path[depth];
+            if (node.isWord || node.count > 0) {
+                break;
+            }
+            removeChild(path[depth - 1], slot(path[depth - 1], bytes[depth - 1]));
+        }
+    }
+
+    /**
+     * If the word is a valid word in the tree, return the word.
+     * Otherwise, return the word from the "leftmost" branch (in byte order) below the longest common
+     * byte prefix of the given word and the tree. The result is in lower case.
+     * @param word the target word
+     * @return a valid word from the tree that has the longest common prefix with the given word
+     */
+    @Override
+    public String suggest(String word) {
+        byte[] bytes = encode(word);
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+        Node node = root;
+        for (int i = 0; bytes != null && i < bytes.length; i++) {
+            int slot = slot(node, bytes[i]);
+            if (slot < 0) {
+                break;
+            }
+            prefix.write(bytes[i]);
+            node = node.children[slot];
+        }
+
+        // Every leaf is a word (delete cuts off the others), so the leftmost word is down the first children
+        while (!node.isWord) {
+            if (node.count == 0) {
+                return null; // the tree is empty
+            }
+            prefix.write(node.bytes[0]);
+            node = node.children[0];
+        }
+        return new String(prefix.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /** Return a string representation of the prefix tree, in the format of PrefixTree.toString().
+     * Each line shows the byte on one edge: ASCII bytes as themselves, other bytes as \xHH.
+     * For a tree of English words, the result is the same as for PrefixTree.
+     * @return string, representing the tree.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        toString(root, 0, sb);
+        return sb.toString();
+    }
+
+    // ---------- Private helper methods ---------------
+
+    /**
+     * Returns the UTF-8 bytes of the word in lower case
+     * @param word a word
+     * @return the bytes, or null if the word has a lone surrogate
+     */
+    private static byte[] encode(String word) {
+        try {
+            ByteBuffer buffer = StandardCharsets.UTF_8.newEncoder()
+                    .encode(CharBuffer.wrap(word.toLowerCase(Locale.ROOT)));
+            return Arrays.copyOf(buffer.array(), buffer.limit());
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the slot of the child on the edge with the given byte
+     * @param node a node
+     * @param b    a byte
+     * @return the slot of the child, or (-(the slot it would go in) - 1) if there is no such child
+     */
+    private static int slot(Node node, byte b) {
+        int low = 0;
+        int high = node.count - 1;
+        int key = b & 0xFF;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = node.bytes[middle] & 0xFF;
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the child on the edge with the given byte, creating it if the node does not have it yet
+     * @param node a node
+     * @param b    a byte
+     * @return the child
+     */
+    private static Node childOrNew(Node node, byte b) {
+        int slot = slot(node, b);
+        if (slot >= 0) {
+            return node.children[slot];
+        }
+        if (node.children == null) {
+            node.bytes = new byte[2];
+            node.children = new Node[2];
+        } else if (node.count == node.children.length) {
+            node.bytes = Arrays.copyOf(node.bytes, node.count * 2);
+            node.children = Arrays.copyOf(node.children, node.count * 2);
+        }
+        slot = -slot - 1; // where the new byte goes to keep the bytes sorted
+        System.arraycopy(node.bytes, slot, node.bytes, slot + 1, node.count - slot);
+        System.arraycopy(node.children, slot, node.children, slot + 1, node.count - slot);
+        Node child = new Node();
+        node.bytes[slot] = b;
+        node.children[slot] = child;
+        node.count++;
+        return child;
+    }
+
+    /** Removes the child in the given slot */
+    private static void removeChild(Node node, int slot) {
+        System.arraycopy(node.bytes, slot + 1, node.bytes, slot, node.count - slot - 1);
+        System.arraycopy(node.children, slot + 1, node.children, slot, node.count - slot - 1);
+        node.children[--node.count] = null;
+    }
+
+    /**
+     * Follows the bytes of the word from the root
+     * @param word the string to follow
+     * @return the node at the end of the path, or null if there is no such path
+     */
+    private Node find(String word) {
+        byte[] bytes = encode(word);
+        if (bytes == null) {
+            return null;
+        }
+        Node node = root;
+        for (byte b : bytes) {
+            int slot = slot(node, b);
+            if (slot < 0) {
+                return null;
+            }
+            node = node.children[slot];
+        }
+        return node;
+    }
+
+    /**
+     * Appends the subtree of the node to sb, in the format of PrefixTree.toString()
+     * @param node            the root of the subtree
+     * @param numIndentations the number of indentations to print at the current level
+     * @param sb              where to append the result
+     */
+    private static void toString(Node node, int numIndentations, StringBuilder sb) {
+        for (int slot = 0; slot < node.count; slot++) {
+            Node child = node.children[slot];
+            for (int j = 0; j < numIndentations; j++) {
+                sb.append(" ");
+            }
+            int b = node.bytes[slot] & 0xFF;
+            if (b < 0x80) {
+                sb.append((char) b);
+            } else {
+                sb.append(String.format("\\x%02X", b));
+            }
+            if (child.isWord) {
+                sb.append("*");
+            }
+            sb.append(System.lineSeparator());
+            toString(child, numIndentations + 1, sb);
+        }
+    }
+}
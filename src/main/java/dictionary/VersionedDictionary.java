@@ -0,0 +1,141 @@
+package dictionary;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/** VersionedDictionary class, implements Dictionary interface.
+ *  Holds the current version of a PersistentPrefixTree and publishes new versions atomically.
+ *  Readers never lock: every read goes to the version that is current when it starts, and a reader
+ *  that needs several reads to agree (a Boggle board, a spell check of a whole file) takes a snapshot()
+ *  and reads from it, while writers go on publishing new versions.
+ *  Writers build the next version from the current one and swap it in with compare-and-set;
+ *  if another writer got there first, the edit is redone on the newer version.
+ *  update() applies a whole batch of edits this way, so readers see either none of the batch or all of it. */
+public class VersionedDictionary implements TrieDictionary {
+
+    private final AtomicReference<PersistentPrefixTree> current; // the version readers see
+
+    /** Creates an empty dictionary */
+    public VersionedDictionary() {
+        this(new PersistentPrefixTree());
+    }
+
+    /**
+     * Creates a dictionary using words from the given file.
+     * The file contains one word per line.
+     * @param filename the name of the file with words
+     */
+    public VersionedDictionary(String filename) {
+        this(new PersistentPrefixTree(filename));
+    }
+
+    /**
+     * Creates a dictionary whose first version is the given tree
+     * @param tree the first version
+     */
+    public VersionedDictionary(PersistentPrefixTree tree) {
+        current = new AtomicReference<>(tree);
+    }
+
+    /**
+     * Returns the current version. It never changes, however many edits are published after it.
+     * @return the current version
+     */
+    public PersistentPrefixTree snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Applies a batch of edits and publishes the result as one new version.
+     * The edits may be applied more than once if other writers publish versions at the same time,
+     * so they should do nothing but build the new version from the one they are given, e.g.
+     * <pre>dict.update(tree -&gt; tree.with("cat").with("dog").without("cow"));</pre>
+     * @param edits builds the new version from the current one
+     * @return the version that was published
+     */
+    public PersistentPrefixTree update(UnaryOperator<PersistentPrefixTree> edits) {
+        while (true) {
+            PersistentPrefixTree before = current.get();
+            PersistentPrefixTree after = edits.apply(before);
+            if (after == before || current.compareAndSet(before, after)) {
+                return after;
+            }
+        }
+    }
+
+    /** Adds a given word to the dictionary, as a new version.
+     * @param word the word to add to the dictionary
+     */
+    @Override
+    public void add(String word) {
+        update(tree -> tree.with(word));
+    }
+
+    /**
+     * Checks if a given word is in the current version
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean check(String word) {
+        return current.get().check(word);
+    }
+
+    /**
+     * Checks if a word with the given prefix is in the current version
+     * @param prefix The prefix of a word
+     * @return true if this prefix is a prefix of any word in the dictionary,
+     * and false otherwise
+     */
+    @Override
+    public boolean checkPrefix(String prefix) {
+        return current.get().checkPrefix(prefix);
+    }
+
+    /**
+     * Deletes a given word from the dictionary, as a new version
+     * @param word the word to be deleted
+     */
+    @Override
+    public void delete(String word) {
+        update(tree -> tree.without(word));
+    }
+
+    /**
+     * Suggests a word from the current version, the same way PrefixTree does
+     * @param word the target word
+     * @return a valid word from the dictionary that has the longest common prefix with the given word
+     */
+    @Override
+    public String suggest(String word) {
+        return current.get().suggest(word);
+    }
+
+    /**
+     * Returns a cursor over the current version. The cursor keeps walking that version
+     * even if newer ones are published while it is in use.
+     * @return a new cursor
+     */
+    @Override
+    public TrieCursor cursor() {
+        return current.get().cursor();
+    }
+
+    /**
+     * Returns the number of words in the current version
+     * @return the number of words
+     */
+    @Override
+    public int size() {
+        return current.get().size();
+    }
+
+    /** Return a string representation of the current version,
+     * in the same format as PrefixTree.toString().
+     * @return string, representing the tree.
+     */
+    @Override
+    public String toString() {
+        return current.get().toString();
+    }
+}
@@ -0,0 +1,79 @@
+import boggle.BoardGenerator;
+import boggle.BoggleBoard;
+import boggle.BoggleLoadTest;
+import dictionary.Dictionary;
+import dictionary.PrefixTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BoardGeneratorTest {
+
+    @Test
+    public void testSameSeedSameBoards() {
+        BoardGenerator first = new BoardGenerator(23);
+        BoardGenerator second = new BoardGenerator(23);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertArrayEquals(first.next(4, 4), second.next(4, 4));
+        }
+        Assert.assertFalse(Arrays.deepEquals(new BoardGenerator(23).next(4, 4), new BoardGenerator(24).next(4, 4)));
+    }
+
+    @Test
+    public void testBoardsOfAnySize() {
+        BoardGenerator generator = new BoardGenerator(545);
+        int[][] sizes = {{1, 1}, {4, 4}, {5, 5}, {3, 7}, {30, 30}};
+        for (int[] size : sizes) {
+            String[][] letters = generator.next(size[0], size[1]);
+            Assert.assertEquals(size[0], letters.length);
+            for (String[] row : letters) {
+                Assert.assertEquals(size[1], row.length);
+                for (String cell : row) {
+                    Assert.assertTrue("Unexpected tile " + cell, cell.matches("[A-PR-Z]|Qu"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testClassicDice() {
+        // Every 4x4 board has one of each die, so some letters can only appear a few times
+        BoardGenerator generator = new BoardGenerator(1);
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String[] row : generator.next(4, 4)) {
+                for (String cell : row) {
+                    counts.merge(cell, 1, Integer::sum);
+                }
+            }
+            Assert.assertTrue("Only one die has Qu", counts.getOrDefault("Qu", 0) <= 1);
+            Assert.assertTrue("Only one die has Z", counts.getOrDefault("Z", 0) <= 1);
+            Assert.assertTrue("Only five dice have O", counts.getOrDefault("O", 0) <= 5);
+        }
+    }
+
+    @Test
+    public void testLoadTest() throws InterruptedException {
+        Dictionary dict = new PrefixTree("input/large.txt");
+        BoggleLoadTest.Report report = new BoggleLoadTest(dict, 4, 4, 7, 1).run(200, 20);
+        Assert.assertEquals(200, report.boards());
+        Assert.assertTrue(report.boardsPerSecond() > 0);
+        Assert.assertTrue(report.p50Nanos() > 0);
+        Assert.assertTrue(report.p50Nanos() <= report.p99Nanos());
+        Assert.assertTrue(report.p99Nanos() <= report.maxNanos());
+
+        // One thread solves the boards of seed 7, in order
+        BoardGenerator generator = new BoardGenerator(7);
+        long words = 0;
+        for (int i = 0; i < 200; i++) {
+            words += new BoggleBoard(generator.next(4, 4), dict).findValidWords().size();
+        }
+        Assert.assertEquals(words / 200.0, report.meanWords(), 1e-9);
+
+        BoggleLoadTest.Report threaded = new BoggleLoadTest(dict, 5, 5, 7, 3).run(100, 0);
+        Assert.assertEquals(100, threaded.boards());
+    }
+}
@@ -0,0 +1,84 @@
+import boggle.BoardOptimizer;
+import boggle.BoggleBoard;
+import dictionary.PrefixTree;
+import dictionary.TrieDictionary;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+public class BoardOptimizerTest {
+    private static final TrieDictionary DICT = new PrefixTree("input/large.txt");
+
+    @Test
+    public void testResults() {
+        List<BoardOptimizer.Result> results = new BoardOptimizer(DICT, 4, 4, BoardOptimizer.Objective.POINTS)
+                .optimize(3, 500, 23);
+        Assert.assertEquals(3, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BoardOptimizer.Result result = results.get(i);
+            if (i > 0) {
+                Assert.assertTrue(results.get(i - 1).score() >= result.score());
+            }
+
+            // The score and the words are those of the board
+            Set<String> words = new TreeSet<>();
+            int points = 0;
+            for (String word : new BoggleBoard(result.letters(), DICT).findValidWords()) {
+                if (word.length() >= BoggleBoard.MIN_WORD_LENGTH) {
+                    words.add(word);
+                    points += BoggleBoard.score(word);
+                }
+            }
+            Assert.assertEquals(words, result.words());
+            Assert.assertEquals(points, result.score());
+            for (String[] row : result.letters()) {
+                Assert.assertEquals(4, row.length);
+                for (String cell : row) {
+                    Assert.assertTrue("Unexpected tile " + cell, cell.matches("[A-PR-Z]|Qu"));
+                }
+            }
+        }
+        // A random 4x4 board has far fewer points (about 50 with this dictionary)
+        Assert.assertTrue(results.get(0).score() > 300);
+    }
+
+    @Test
+    public void testWords() {
+        BoardOptimizer.Result best = new BoardOptimizer(DICT, 3, 5, BoardOptimizer.Objective.WORDS)
+                .optimize(2, 300, 7).get(0);
+        Assert.assertEquals(3, best.letters().length);
+        Assert.assertEquals(5, best.letters()[0].length);
+        Assert.assertEquals(best.words().size(), best.score());
+    }
+
+    @Test
+    public void testSameSeedSameBoards() {
+        BoardOptimizer optimizer = new BoardOptimizer(DICT, 5, 5, BoardOptimizer.Objective.POINTS, 5, 0.5);
+        List<BoardOptimizer.Result> first = optimizer.optimize(2, 200, 545, new ForkJoinPool(1));
+        List<BoardOptimizer.Result> second = optimizer.optimize(2, 200, 545, new ForkJoinPool(2));
+        for (int i = 0; i < first.size(); i++) {
+            Assert.assertArrayEquals(first.get(i).letters(), second.get(i).letters());
+            Assert.assertEquals(first.get(i).words(), second.get(i).words());
+        }
+    }
+
+    @Test
+    public void testScore() {
+        Assert.assertEquals(0, BoggleBoard.score("an"));
+        Assert.assertEquals(1, BoggleBoard.score("ant"));
+        Assert.assertEquals(1, BoggleBoard.score("ants"));
+        Assert.assertEquals(2, BoggleBoard.score("quite"));
+        Assert.assertEquals(3, BoggleBoard.score("plants"));
+        Assert.assertEquals(5, BoggleBoard.score("planted"));
+        Assert.assertEquals(11, BoggleBoard.score("plantings"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadTemperatures() {
+        new BoardOptimizer(DICT, 4, 4, BoardOptimizer.Objective.WORDS, 1, 2);
+    }
+}
@@ -1,9 +1,13 @@
 import boggle.BoggleBoard;
+import dictionary.Dawg;
 import dictionary.Dictionary;
 import dictionary.PrefixTree;
+import dictionary.RadixTree;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Random;
 import java.util.Set;
 
 public class BoggleBoardTest {
@@ -63,4 +67,191 @@ public class BoggleBoardTest {
         Assert.assertTrue("The word END is not found ", results.contains("END"));
     }
 
+    @Test
+    public void testTrieSearchMatchesPlainSearch() {
+        Dictionary large = new PrefixTree("input/large.txt");
+        Dictionary plain = plainDictionary(large);
+        for (int i = 1; i <= 5; i++) {
+            String filename = "input/board" + i + ".txt";
+            Set<String> expected = new BoggleBoard(filename, plain).findValidWords();
+            Set<String> results = new BoggleBoard(filename, large).findValidWords();
+            Assert.assertEquals("Words found on " + filename + " differ", expected, results);
+        }
+    }
+
+    @Test
+    public void testLargerBoards() {
+        Dictionary large = new PrefixTree("input/large.txt");
+        String[][] bigBoggle = {
+                {"C", "A", "T", "X", "X"},
+                {"X", "X", "S", "X", "X"},
+                {"X", "X", "X", "X", "X"},
+                {"X", "X", "X", "D", "O"},
+                {"X", "X", "X", "G", "X"}};
+        BoggleBoard board = new BoggleBoard(bigBoggle, large);
+        Assert.assertEquals(5, board.getWidth());
+        Assert.assertEquals(5, board.getHeight());
+        Set<String> results = board.findValidWords();
+        Assert.assertTrue("The word CATS is not found", results.contains("CATS"));
+        Assert.assertTrue("The word DOG is not found", results.contains("DOG"));
+        Assert.assertFalse("C and S are not neighbors", results.contains("CS"));
+
+        // 9 rows and 8 columns: more than 64 cells, and the word runs from cell 63 to cell 71
+        String[][] letters = new String[9][8];
+        for (String[] row : letters) {
+            Arrays.fill(row, "Q");
+        }
+        letters[7][6] = "Z";
+        letters[7][7] = "E";
+        letters[8][7] = "B";
+        letters[8][6] = "R";
+        letters[8][5] = "A";
+        BoggleBoard wide = new BoggleBoard(letters, large);
+        Set<String> wideResults = wide.findValidWords();
+        Assert.assertTrue("The word ZEBRA is not found", wideResults.contains("ZEBRA"));
+        Assert.assertEquals(wideResults, wide.findValidWordsParallel());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRaggedBoard() {
+        new BoggleBoard(new String[][] {{"A", "B"}, {"C"}}, dictionary);
+    }
+
+    /** Wraps a dictionary so that the board cannot walk it with a cursor */
+    static Dictionary plainDictionary(Dictionary d) {
+        return new Dictionary() {
+            public void add(String word) { d.add(word); }
+            public boolean check(String word) { return d.check(word); }
+            public boolean checkPrefix(String prefix) { return d.checkPrefix(prefix); }
+            public void delete(String word) { d.delete(word); }
+            public String suggest(String word) { return d.suggest(word); }
+            public String toString() { return d.toString(); }
+        };
+    }
+
+    @Test
+    public void testParallelSearch() {
+        Dictionary large = new PrefixTree("input/large.txt");
+        for (int i = 1; i <= 5; i++) {
+            BoggleBoard board = new BoggleBoard("input/board" + i + ".txt", large);
+            Assert.assertEquals(board.findValidWords(), board.findValidWordsParallel());
+            BoggleBoard plainBoard = new BoggleBoard("input/board" + i + ".txt", plainDictionary(large));
+            Assert.assertEquals(board.findValidWords(), plainBoard.findValidWordsParallel());
+        }
+    }
+
+    @Test
+    public void testTrieWalkMatchesCellPaths() {
+        PrefixTree large = new PrefixTree("input/large.txt");
+        Dictionary[] dictionaries = {large, new Dawg(large), new RadixTree("input/small.txt")};
+        String dice = "EEEEEEAAAAIIIIOOOONNNRRRTTTLSSUUDGBCMPFHVWYKJXQZ";
+        Random random = new Random(21);
+        int[][] sizes = {{4, 4}, {5, 5}, {9, 8}, {3, 40}, {24, 24}};
+        for (Dictionary d : dictionaries) {
+            for (int[] size : sizes) {
+                String[][] letters = new String[size[0]][size[1]];
+                for (String[] row : letters) {
+                    for (int column = 0; column < row.length; column++) {
+                        char die = dice.charAt(random.nextInt(dice.length()));
+                        row[column] = die == 'Q' ? "Qu" : random.nextInt(4) == 0 ? String.valueOf(die).toLowerCase() : String.valueOf(die);
+                    }
+                }
+                letters[0][0] = "1"; // a cell no word can go through
+                BoggleBoard board = new BoggleBoard(letters, d);
+                Set<String> expected = board.findValidWords(BoggleBoard.Strategy.CELL_PATHS);
+                Assert.assertEquals(size[0] + "x" + size[1], expected, board.findValidWords(BoggleBoard.Strategy.TRIE_WALK));
+                Assert.assertEquals(expected, board.findValidWords());
+            }
+        }
+    }
+
+    @Test
+    public void testTrieWalkBoardFiles() {
+        Dictionary large = new PrefixTree("input/large.txt");
+        for (int i = 1; i <= 5; i++) {
+            BoggleBoard board = new BoggleBoard("input/board" + i + ".txt", large);
+            Assert.assertEquals(board.findValidWords(BoggleBoard.Strategy.CELL_PATHS),
+                    board.findValidWords(BoggleBoard.Strategy.TRIE_WALK));
+        }
+
+        // A word can not use a cell twice: EYE needs two cells with E
+        BoggleBoard once = new BoggleBoard(new String[][] {{"E", "Y", "X"}}, large);
+        Assert.assertFalse(once.findValidWords(BoggleBoard.Strategy.TRIE_WALK).contains("EYE"));
+        BoggleBoard twice = new BoggleBoard(new String[][] {{"E", "Y", "E"}}, large);
+        Assert.assertTrue(twice.findValidWords(BoggleBoard.Strategy.TRIE_WALK).contains("EYE"));
+
+        // Without a tree to walk, TRIE_WALK follows paths
+        BoggleBoard plain = new BoggleBoard("input/board5.txt", plainDictionary(large));
+        Assert.assertEquals(plain.findValidWords(BoggleBoard.Strategy.CELL_PATHS), plain.findValidWords(BoggleBoard.Strategy.TRIE_WALK));
+    }
+
+    @Test
+    public void testQuTiles() {
+        PrefixTree large = new PrefixTree("input/large.txt");
+        String[][] letters = {
+                {"Qu", "I", "X"},
+                {"S", "T", "E"},
+                {"X", "X", "X"}};
+        BoggleBoard board = new BoggleBoard(letters, large);
+        for (BoggleBoard.Strategy strategy : BoggleBoard.Strategy.values()) {
+            Set<String> results = board.findValidWords(strategy);
+            Assert.assertTrue(strategy + " should find QuIT", results.contains("QuIT"));
+            Assert.assertTrue(strategy + " should find QuITE", results.contains("QuITE"));
+            Assert.assertTrue(strategy + " should find QuIET", results.contains("QuIET"));
+            Assert.assertFalse("A Qu tile can not be used as a Q alone", results.contains("SUIT"));
+            Assert.assertEquals(board.findValidWords(BoggleBoard.Strategy.CELL_PATHS), results);
+        }
+        Assert.assertEquals(board.findValidWords(), board.findValidWordsParallel());
+
+        // The tile is one cell: "Qu" and then "E", "S", "T" spell QUEST on a 2x2 board
+        BoggleBoard small = new BoggleBoard(new String[][] {{"Qu", "E"}, {"T", "S"}}, large);
+        Assert.assertTrue(small.findValidWords().contains("QuEST"));
+    }
+
+    @Test
+    public void testSetCell() {
+        BoggleBoard board = new BoggleBoard("input/board1.txt", dictionary);
+        Assert.assertTrue(board.findValidWords().contains("NAME"));
+        String old = board.getCell(1, 0);
+        board.setCell(1, 0, "X"); // the E of NAME
+        Assert.assertEquals("X", board.getCell(1, 0));
+        Set<String> results = board.findValidWords();
+        Assert.assertFalse("NAME should be gone", results.contains("NAME"));
+        Assert.assertTrue("MAN does not go through the cell", results.contains("MAN"));
+        Assert.assertEquals(board.findValidWords(BoggleBoard.Strategy.CELL_PATHS), results);
+        board.setCell(1, 0, old);
+        Assert.assertTrue("NAME should be back", board.findValidWords().contains("NAME"));
+    }
+
+    @Test
+    public void testSetCellMatchesFullSearch() {
+        PrefixTree large = new PrefixTree("input/large.txt");
+        Dictionary[] dictionaries = {large, plainDictionary(large)};
+        String[] tiles = {"E", "A", "S", "T", "R", "N", "O", "I", "L", "Qu", "d", "", "1"};
+        Random random = new Random(25);
+        int[][] sizes = {{1, 1}, {2, 3}, {4, 4}, {5, 5}, {9, 8}};
+        for (Dictionary d : dictionaries) {
+            for (int[] size : sizes) {
+                String[][] letters = new String[size[0]][size[1]];
+                for (String[] row : letters) {
+                    for (int column = 0; column < row.length; column++) {
+                        row[column] = tiles[random.nextInt(tiles.length - 2)];
+                    }
+                }
+                BoggleBoard board = new BoggleBoard(letters, d);
+                for (int i = 0; i < 60; i++) {
+                    int row = random.nextInt(size[0]);
+                    int column = random.nextInt(size[1]);
+                    board.setCell(row, column, tiles[random.nextInt(tiles.length)]);
+                    Assert.assertEquals(size[0] + "x" + size[1] + " after edit " + i,
+                            board.findValidWords(BoggleBoard.Strategy.CELL_PATHS), board.findValidWords());
+                }
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetCellOutsideBoard() {
+        new BoggleBoard("input/board1.txt", dictionary).setCell(4, 0, "A");
+    }
 }
@@ -0,0 +1,50 @@
+import boggle.BoggleBoard;
+import boggle.BoggleSolver;
+import dictionary.Dictionary;
+import dictionary.PrefixTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BoggleSolverTest {
+    private Dictionary dictionary;
+
+    public BoggleSolverTest() {
+        dictionary = new PrefixTree("input/large.txt");
+    }
+
+    @Test
+    public void testSolveDirectory() throws IOException {
+        Map<String, Set<String>> results = new BoggleSolver(dictionary).solveDirectory("input");
+        Assert.assertEquals("There are 5 boards in the input directory", 5, results.size());
+        for (int i = 1; i <= 5; i++) {
+            String name = "board" + i + ".txt";
+            Assert.assertEquals("Words found on " + name + " differ",
+                    new BoggleBoard("input/" + name, dictionary).findValidWords(), results.get(name));
+        }
+    }
+
+    @Test
+    public void testSolveInMemoryBoards() {
+        String[][] board = {
+                {"P", "O", "L", "V"},
+                {"E", "S", "A", "I"},
+                {"M", "A", "X", "E"},
+                {"Y", "Z", "N", "O"}};
+        List<String[][]> boards = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            boards.add(board);
+        }
+        Set<String> expected = new BoggleBoard("input/board1.txt", dictionary).findValidWords();
+        List<Set<String>> results = new BoggleSolver(dictionary).solve(boards);
+        Assert.assertEquals(100, results.size());
+        for (Set<String> words : results) {
+            Assert.assertEquals(expected, words);
+        }
+    }
+}
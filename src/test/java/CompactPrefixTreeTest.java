@@ -0,0 +1,64 @@
+import dictionary.CompactPrefixTree;
+import dictionary.Dictionary;
+import dictionary.PrefixTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+/** Runs every DictionaryTest against CompactPrefixTree */
+public class CompactPrefixTreeTest extends DictionaryTest {
+
+    @Override
+    protected Dictionary newDictionary() {
+        return new CompactPrefixTree();
+    }
+
+    @Override
+    protected Dictionary newDictionary(String filename) {
+        return new CompactPrefixTree(filename);
+    }
+
+    @Test
+    public void testLargeDictionaryToString() throws IOException {
+        Dictionary expected = new PrefixTree("input/large.txt");
+        CompactPrefixTree d = new CompactPrefixTree("input/large.txt");
+        Assert.assertEquals("toString() should match PrefixTree", expected.toString(), d.toString());
+
+        // The reference deliberately models the baseline PrefixTree, which had a Node object and an array of
+        // 26 children for every node, not the tree PrefixTree builds now. With compressed references a Node
+        // took 24 bytes (a 12 byte header, the array, the enclosing tree and isWord, rounded up to 8), and its
+        // array a 16 byte header and 26 references of 4 bytes: 144 bytes a node.
+        Set<String> prefixes = new HashSet<>(); // one node per distinct prefix, the root included
+        for (String word : Files.readAllLines(Paths.get("input/large.txt"))) {
+            for (int i = 0; i <= word.trim().length(); i++) {
+                prefixes.add(word.trim().toLowerCase().substring(0, i));
+            }
+        }
+        long baselineTree = prefixes.size() * (24L + 16 + 26 * 4);
+        Assert.assertTrue("Footprint " + d.memoryFootprint() + " should be under a tenth of " + baselineTree,
+                d.memoryFootprint() * 10 < baselineTree);
+    }
+
+    @Test
+    public void testAddAfterDelete() {
+        CompactPrefixTree d = new CompactPrefixTree();
+        d.add("cat");
+        d.add("cater");
+        d.delete("cater");
+        d.add("cats");
+        d.add("car");
+        Assert.assertTrue(d.check("cat"));
+        Assert.assertTrue(d.check("cats"));
+        Assert.assertTrue(d.check("car"));
+        Assert.assertFalse(d.check("cater"));
+        Assert.assertFalse(d.checkPrefix("cate"));
+        Assert.assertEquals("c" + System.lineSeparator() + " a" + System.lineSeparator()
+                + "  r*" + System.lineSeparator() + "  t*" + System.lineSeparator()
+                + "   s*" + System.lineSeparator(), d.toString());
+    }
+}
@@ -0,0 +1,70 @@
+import dictionary.ConcurrentPrefixTree;
+import dictionary.Dictionary;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Runs every DictionaryTest against ConcurrentPrefixTree, and checks reads during concurrent updates */
+public class ConcurrentPrefixTreeTest extends DictionaryTest {
+
+    @Override
+    protected Dictionary newDictionary() {
+        return new ConcurrentPrefixTree();
+    }
+
+    @Override
+    protected Dictionary newDictionary(String filename) {
+        return new ConcurrentPrefixTree(filename);
+    }
+
+    @Test
+    public void testReadersDuringUpdates() throws InterruptedException {
+        ConcurrentPrefixTree d = new ConcurrentPrefixTree("input/small.txt");
+        String[] stable = {"time", "people", "president", "education", "community"};
+        String[] changing = {"timer", "peoples", "presidents", "educational", "communities", "zebra"};
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> error = new AtomicReference<>();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    for (String word : stable) {
+                        if (!d.check(word) || !d.checkPrefix(word) || !word.equals(d.suggest(word))) {
+                            error.set(word + " disappeared during an update");
+                        }
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        Thread writer = new Thread(() -> {
+            for (int round = 0; round < 2000; round++) {
+                for (String word : changing) {
+                    d.add(word);
+                }
+                for (String word : changing) {
+                    d.delete(word);
+                }
+            }
+        });
+        writer.start();
+        writer.join();
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        Assert.assertNull(error.get(), error.get());
+        for (String word : changing) {
+            Assert.assertFalse(word + " was deleted", d.check(word));
+        }
+        Assert.assertFalse("The branch for zebra was cut off", d.checkPrefix("z"));
+    }
+}
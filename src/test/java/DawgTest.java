@@ -0,0 +1,92 @@
+import boggle.BoggleBoard;
+import dictionary.CompactPrefixTree;
+import dictionary.Dawg;
+import dictionary.Dictionary;
+import dictionary.PrefixTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+public class DawgTest {
+
+    @Test
+    public void testSmallDictionaryToString() {
+        Dictionary tree = new PrefixTree("input/small.txt");
+        Assert.assertEquals("Built from a file", tree.toString(), new Dawg("input/small.txt").toString());
+        Assert.assertEquals("Built from a PrefixTree", tree.toString(), new Dawg((PrefixTree) tree).toString());
+    }
+
+    @Test
+    public void testUnsortedWords() {
+        PrefixTree tree = new PrefixTree();
+        String[] words = {"apple", "ale", "app", "dog", "day",
+                "camel", "dove", "cat", "cats", "camera", "cater"};
+        for (String word : words) {
+            tree.add(word);
+        }
+        Dawg d = new Dawg(tree);
+        Assert.assertEquals(tree.toString(), d.toString());
+        for (String word : words) {
+            Assert.assertTrue("check(\"" + word + "\") should return true", d.check(word));
+        }
+        Assert.assertFalse(d.check("ca"));
+        Assert.assertTrue(d.checkPrefix("ca"));
+        Assert.assertFalse(d.checkPrefix("cx"));
+        Assert.assertEquals("camel", d.suggest("can"));
+    }
+
+    @Test
+    public void testLargeDictionary() {
+        PrefixTree tree = new PrefixTree("input/large.txt");
+        Dawg d = new Dawg("input/large.txt");
+        Assert.assertEquals("Shared nodes end many words", tree.size(), d.size());
+        try (BufferedReader br = Files.newBufferedReader(Paths.get("input/large.txt"))) {
+            String word;
+            while ((word = br.readLine()) != null) {
+                Assert.assertTrue("check(\"" + word + "\") should have returned true", d.check(word));
+            }
+        } catch (IOException e) {
+            Assert.fail(e.getMessage());
+        }
+
+        String[] misspelledWords = {"aqau", "cheeck", "trayn", "lawer", "queu", "rison", "chanec", "citey", "aree", "probemma"};
+        for (String word : misspelledWords) {
+            Assert.assertEquals("suggest(\"" + word + "\")", tree.suggest(word), d.suggest(word));
+        }
+        String[] invalidWords = {"araa", "arti", "blinx", "hisyva", "rebsbs", "zonbabe", "gigrls"};
+        for (String word : invalidWords) {
+            Assert.assertFalse("check(\"" + word + "\") should return false", d.check(word));
+            Assert.assertEquals("checkPrefix(\"" + word + "\")", tree.checkPrefix(word), d.checkPrefix(word));
+        }
+
+        // The minimal graph of large.txt has 20374 nodes (found by minimizing its trie separately),
+        // against about 151000 nodes in the trie
+        Assert.assertEquals(20374, d.numNodes());
+        Assert.assertTrue(d.memoryFootprint() < new CompactPrefixTree("input/large.txt").memoryFootprint() / 3);
+    }
+
+    @Test
+    public void testBoggleBoard() {
+        Dictionary tree = new PrefixTree("input/large.txt");
+        Dictionary d = new Dawg("input/large.txt");
+        for (int i = 1; i <= 5; i++) {
+            String filename = "input/board" + i + ".txt";
+            Assert.assertEquals(new BoggleBoard(filename, tree).findValidWords(),
+                    new BoggleBoard(filename, d).findValidWords());
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddIsRejected() {
+        new Dawg("input/small.txt").add("zebra");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDeleteIsRejected() {
+        new Dawg("input/small.txt").delete("time");
+    }
+}
@@ -1,6 +1,8 @@
 import dictionary.Dictionary;
 import dictionary.PrefixTree;
+import dictionary.TrieDictionary;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
 import java.io.BufferedReader;
@@ -11,9 +13,19 @@ import java.nio.file.Paths;
 
 public class DictionaryTest {
 
+    /** Creates the empty dictionary under test. Tests of other Dictionary implementations override this. */
+    protected Dictionary newDictionary() {
+        return new PrefixTree();
+    }
+
+    /** Creates the dictionary under test from a file with one word per line. */
+    protected Dictionary newDictionary(String filename) {
+        return new PrefixTree(filename);
+    }
+
     @Test
     public void testAddCheck() {
-        Dictionary d = new PrefixTree();
+        Dictionary d = newDictionary();
         String[] words = {"apple", "ale", "app", "dog", "day",
                 "camel", "dove", "cat", "cats", "camera", "cater"};
         try {
@@ -35,7 +47,7 @@ public class DictionaryTest {
 
     @Test
     public void testAddAndToString() {
-        Dictionary d = new PrefixTree();
+        Dictionary d = newDictionary();
         String[] words = {"apple", "ale", "app", "dog", "day",
                 "camel", "dove", "cat", "cats", "camera", "cater"};
         try (PrintWriter pw = new PrintWriter("studentDictionary1.txt")){
@@ -61,7 +73,7 @@ public class DictionaryTest {
 
     @Test
     public void testSmallDictionaryAddAndToString() {
-        Dictionary d = new PrefixTree("input/small.txt");
+        Dictionary d = newDictionary("input/small.txt");
         try (PrintWriter pw = new PrintWriter("studentSmallTree.txt")){
             String stringRes = d.toString();
             pw.println(stringRes);
@@ -84,7 +96,7 @@ public class DictionaryTest {
 
     @Test
     public void testSmallDictionaryCheck() {
-        Dictionary d = new PrefixTree("input/small.txt");
+        Dictionary d = newDictionary("input/small.txt");
         String[] words = {
                 "time", "year", "people", "way", "day", "man", "thing", "woman", "life", "child",
                 "world", "school", "state", "family", "student", "group", "country", "problem", "hand",
@@ -110,7 +122,7 @@ public class DictionaryTest {
 
     @Test
     public void testSmallDictionaryCheckPrefix() {
-        Dictionary d = new PrefixTree("input/small.txt");
+        Dictionary d = newDictionary("input/small.txt");
         String[] prefixes = {
                 "t", "ti", "tim", "time", "y", "ye", "yea", "year",
                 "p", "pe", "peo", "peop", "peopl", "w", "wa", "way",
@@ -132,7 +144,7 @@ public class DictionaryTest {
 
     @Test
     public void testSmallDictionaryDelete() {
-        Dictionary d = new PrefixTree("input/small.txt");
+        Dictionary d = newDictionary("input/small.txt");
         d.delete("thing");
         d.delete("company");
         d.delete("kind");
@@ -162,7 +174,7 @@ public class DictionaryTest {
 
     @Test
     public void testDelete() {
-        Dictionary d = new PrefixTree();
+        Dictionary d = newDictionary();
         String[] words = {"apple", "ale", "app", "dog", "day",
                 "camel", "dove", "cat", "cats", "camera", "cater"};
         try {
@@ -192,7 +204,7 @@ public class DictionaryTest {
 
     @Test
     public void testSuggestSimple() {
-        Dictionary d = new PrefixTree();
+        Dictionary d = newDictionary();
         String[] words = {"apple", "ale", "app", "dog", "day",
                 "camel", "dove", "cat", "cats", "camera", "cater"};
         for (int i = 0; i < words.length; i++) {
@@ -206,7 +218,7 @@ public class DictionaryTest {
 
     @Test
     public void testSmallDictionarySuggest() {
-        Dictionary d = new PrefixTree("input/small.txt");
+        Dictionary d = newDictionary("input/small.txt");
         String[] misspelledWords = {"fa", "chek", "eudarion", "lawer", "cad", "reeson", "chaneg", "citey","aree", "prolbem"};
         String[] suggestions = {"face", "change", "education", "law", "car", "reason", "change", "city", "area", "problem"};
         for (int i = 0; i < misspelledWords.length; i++) {
@@ -216,7 +228,7 @@ public class DictionaryTest {
 
     @Test
     public void testLargeDictionaryCheck() {
-        Dictionary d = new PrefixTree("input/large.txt");
+        Dictionary d = newDictionary("input/large.txt");
         try (BufferedReader br = Files.newBufferedReader(Paths.get("input/large.txt"))) {
             String word;
             while ((word = br.readLine()) != null) {
@@ -234,7 +246,7 @@ public class DictionaryTest {
 
     @Test
     public void testLargeDictionarySuggest() {
-        Dictionary d = new PrefixTree("input/large.txt");
+        Dictionary d = newDictionary("input/large.txt");
         String[] misspelledWords = {"aqau", "cheeck", "trayn", "lawer", "queu", "rison", "chanec", "citey", "aree", "probemma"};
         String[] suggestions = {"aqua", "cheek", "tray", "lawed", "queue", "risotto", "chance", "cite", "are", "probe"};
         for (int i = 0; i < misspelledWords.length; i++) {
@@ -242,4 +254,19 @@ public class DictionaryTest {
         }
     }
 
+    @Test
+    public void testSize() {
+        Dictionary d = newDictionary("input/small.txt");
+        Assume.assumeTrue("Only a TrieDictionary has size()", d instanceof TrieDictionary);
+        TrieDictionary tree = (TrieDictionary) d;
+        Assert.assertEquals(100, tree.size());
+        tree.add("zebra");
+        tree.add("zebra");
+        Assert.assertEquals("Adding a word twice counts it once", 101, tree.size());
+        tree.delete("zebra");
+        tree.delete("zebra");
+        tree.delete("zebr");
+        Assert.assertEquals(100, tree.size());
+        Assert.assertEquals(0, ((TrieDictionary) newDictionary()).size());
+    }
 }
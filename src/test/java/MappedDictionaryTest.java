@@ -0,0 +1,83 @@
+import boggle.BoggleBoard;
+import dictionary.Dictionary;
+import dictionary.MappedDictionary;
+import dictionary.PrefixTree;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+public class MappedDictionaryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /** Saves a snapshot of the tree and opens it */
+    private MappedDictionary snapshot(PrefixTree tree) throws IOException {
+        String filename = folder.newFile().getPath();
+        MappedDictionary.save(tree, filename);
+        return new MappedDictionary(filename);
+    }
+
+    @Test
+    public void testSmallDictionary() throws IOException {
+        PrefixTree tree = new PrefixTree("input/small.txt");
+        MappedDictionary d = snapshot(tree);
+        Assert.assertEquals("toString() should match PrefixTree", tree.toString(), d.toString());
+        String[] misspelledWords = {"fa", "chek", "eudarion", "lawer", "cad", "reeson", "chaneg", "citey", "aree", "prolbem"};
+        for (String word : misspelledWords) {
+            Assert.assertEquals("suggest(\"" + word + "\")", tree.suggest(word), d.suggest(word));
+        }
+        Assert.assertTrue(d.checkPrefix("resear"));
+        Assert.assertFalse(d.checkPrefix("esult"));
+    }
+
+    @Test
+    public void testLargeDictionary() throws IOException {
+        PrefixTree tree = new PrefixTree("input/large.txt");
+        MappedDictionary d = snapshot(tree);
+        Assert.assertEquals(tree.size(), d.size());
+        try (BufferedReader br = Files.newBufferedReader(Paths.get("input/large.txt"))) {
+            String word;
+            while ((word = br.readLine()) != null) {
+                Assert.assertTrue("check(\"" + word + "\") should have returned true", d.check(word));
+            }
+        }
+        String[] invalidWords = {"araa", "arti", "blinx", "hisyva", "rebsbs", "zonbabe", "gigrls"};
+        for (String word : invalidWords) {
+            Assert.assertFalse("check(\"" + word + "\") should return false", d.check(word));
+        }
+        for (int i = 1; i <= 5; i++) {
+            String filename = "input/board" + i + ".txt";
+            Assert.assertEquals(new BoggleBoard(filename, tree).findValidWords(),
+                    new BoggleBoard(filename, d).findValidWords());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotASnapshot() {
+        new MappedDictionary("input/small.txt");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOldVersionIsRejected() throws IOException {
+        // A version 1 snapshot has no word count in its header
+        String filename = folder.newFile("old.dawg").getPath();
+        MappedDictionary.save(new PrefixTree("input/small.txt"), filename);
+        byte[] bytes = Files.readAllBytes(Paths.get(filename));
+        bytes[7] = 1;
+        Files.write(Paths.get(filename), bytes);
+        new MappedDictionary(filename);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddIsRejected() throws IOException {
+        Dictionary d = snapshot(new PrefixTree("input/small.txt"));
+        d.add("zebra");
+    }
+}
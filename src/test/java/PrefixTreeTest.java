@@ -0,0 +1,256 @@
+import dictionary.Alphabet;
+import dictionary.PrefixTree;
+import dictionary.TrieCursor;
+import dictionary.UnicodePrefixTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/** Tests of PrefixTree methods that are not part of the Dictionary interface */
+public class PrefixTreeTest {
+
+    @Test
+    public void testBufferLookups() {
+        PrefixTree d = new PrefixTree("input/small.txt");
+        StringBuilder sb = new StringBuilder("president");
+        Assert.assertTrue("check(CharSequence) should find president", d.check(sb));
+        sb.setLength(4);
+        Assert.assertFalse("pres is not a word", d.check(sb));
+        Assert.assertTrue("pres is a valid prefix", d.checkPrefix(sb));
+
+        char[] buffer = "xxPRESIDENTxx".toCharArray();
+        Assert.assertTrue("check(char[]) should find president", d.check(buffer, 2, 9));
+        Assert.assertFalse("presiden is not a word", d.check(buffer, 2, 8));
+        Assert.assertTrue("presiden is a valid prefix", d.checkPrefix(buffer, 2, 8));
+        Assert.assertFalse("xpresident is not a valid prefix", d.checkPrefix(buffer, 1, 10));
+
+        d.add("teachers".toCharArray(), 0, 8);
+        Assert.assertTrue("teachers was added from a char array", d.check("teachers"));
+        Assert.assertFalse("Non-letters are never in the dictionary", d.check("it's"));
+        try {
+            d.add("xxit'sxx".toCharArray(), 2, 4);
+            Assert.fail("A word with an apostrophe can not be added");
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue("The message names only the word: " + e.getMessage(), e.getMessage().contains("\"it's\""));
+        }
+    }
+
+    @Test
+    public void testFuzzySuggest() {
+        PrefixTree d = new PrefixTree();
+        String[] words = {"apple", "ale", "app", "dog", "day",
+                "camel", "dove", "cat", "cats", "camera", "cater"};
+        for (int i = 0; i < words.length; i++) {
+            d.add(words[i]);
+        }
+        Assert.assertEquals(Arrays.asList("cat"), d.suggest("cat", 0, 5));
+        Assert.assertEquals(Arrays.asList("cat", "cats"), d.suggest("cat", 1, 5));
+        Assert.assertEquals(Arrays.asList("cat", "cats", "cater", "day"), d.suggest("cat", 2, 5));
+        Assert.assertEquals(Arrays.asList("cat", "cats"), d.suggest("cat", 2, 2));
+        Assert.assertEquals(Arrays.asList("day", "dog"), d.suggest("dag", 1, 5));
+        Assert.assertEquals(Arrays.asList("ale", "app"), d.suggest("", 3, 2));
+        Assert.assertTrue(d.suggest("zzzzzz", 2, 5).isEmpty());
+
+        // A swap of two letters is two edits, unless transpositions are counted
+        Assert.assertTrue(d.suggest("dgo", 1, 5).isEmpty());
+        Assert.assertEquals(Arrays.asList("dog"), d.suggest("dgo", 1, 5, true));
+    }
+
+    @Test
+    public void testLargeDictionaryFuzzySuggest() {
+        PrefixTree d = new PrefixTree("input/large.txt");
+        String[] misspelledWords = {"aqau", "cheeck", "trayn", "recieve", "probem"};
+        String[] corrections = {"aqua", "cheek", "train", "receive", "probe"};
+        for (int i = 0; i < misspelledWords.length; i++) {
+            List<String> suggestions = d.suggest(misspelledWords[i], 2, 10, true);
+            Assert.assertTrue("suggest(\"" + misspelledWords[i] + "\", 2, 10) should include " + corrections[i]
+                    + ", not only " + suggestions, suggestions.contains(corrections[i]));
+            Assert.assertTrue(suggestions.size() <= 10);
+        }
+    }
+
+    @Test
+    public void testComplete() {
+        PrefixTree d = new PrefixTree();
+        d.add("cat", 50);
+        d.add("cats", 10);
+        d.add("camel", 30);
+        d.add("camera", 80);
+        d.add("cater", 30);
+        d.add("dog", 100);
+        d.add("car");
+        Assert.assertEquals(Arrays.asList("camera", "cat", "camel"), d.complete("ca", 3));
+        Assert.assertEquals(Arrays.asList("camera", "cat", "camel", "cater", "cats", "car"), d.complete("CA", 10));
+        Assert.assertEquals(Arrays.asList("cat", "cater", "cats"), d.complete("cat", 5));
+        Assert.assertTrue(d.complete("x", 5).isEmpty());
+        Assert.assertTrue(d.complete("ca", 0).isEmpty());
+
+        d.delete("camera");
+        Assert.assertEquals(Arrays.asList("cat", "camel", "cater"), d.complete("ca", 3));
+        d.add("cats", 60); // a new frequency replaces the old one
+        d.add("cat"); // adding a word again keeps its frequency
+        Assert.assertEquals(Arrays.asList("dog", "cats", "cat"), d.complete("", 3));
+        d.add("cats", 5); // a lower frequency moves the word back down
+        Assert.assertEquals(Arrays.asList("dog", "cat", "camel"), d.complete("", 3));
+    }
+
+    @Test
+    public void testCompleteMatchesSortedWords() {
+        // Give every word in large.txt a pseudo-random frequency, then compare with sorting all matching words
+        PrefixTree d = new PrefixTree();
+        Map<String, Integer> frequencies = new HashMap<>();
+        Random random = new Random(545);
+        try {
+            for (String word : Files.readAllLines(Paths.get("input/large.txt"))) {
+                int frequency = random.nextInt(1000);
+                frequencies.put(word, frequency);
+                d.add(word, frequency);
+            }
+        } catch (IOException e) {
+            Assert.fail(e.getMessage());
+        }
+
+        String[] prefixes = {"", "a", "qu", "pre", "zy", "xylophone"};
+        for (String prefix : prefixes) {
+            List<String> expected = new ArrayList<>();
+            for (String word : frequencies.keySet()) {
+                if (word.startsWith(prefix)) {
+                    expected.add(word);
+                }
+            }
+            expected.sort((a, b) -> frequencies.get(a).equals(frequencies.get(b))
+                    ? a.compareTo(b) : frequencies.get(b) - frequencies.get(a));
+            expected = expected.subList(0, Math.min(10, expected.size()));
+            Assert.assertEquals("complete(\"" + prefix + "\", 10)", expected, d.complete(prefix, 10));
+        }
+    }
+
+    @Test
+    public void testLoadFrequencies() throws IOException {
+        Path file = Files.createTempFile("words", ".txt");
+        Files.write(file, Arrays.asList("apple 5", "app\t40", "ale", "apply  12"));
+        PrefixTree d = new PrefixTree(file.toString());
+        Files.delete(file);
+        Assert.assertTrue(d.check("apple"));
+        Assert.assertTrue(d.check("app"));
+        Assert.assertFalse(d.check("apple 5"));
+        Assert.assertEquals(Arrays.asList("app", "apply", "apple", "ale"), d.complete("a", 5));
+    }
+
+    @Test
+    public void testAddSorted() throws IOException {
+        List<String> words = Files.readAllLines(Paths.get("input/large.txt"));
+        PrefixTree sorted = new PrefixTree();
+        Assert.assertEquals(0, sorted.addSorted(words));
+
+        PrefixTree oneByOne = new PrefixTree();
+        for (String word : words) {
+            oneByOne.add(word);
+        }
+        Assert.assertEquals(oneByOne.toString(), sorted.toString());
+
+        // Any order gives the same tree
+        List<String> shuffled = new ArrayList<>(words);
+        Collections.shuffle(shuffled, new Random(545));
+        PrefixTree unsorted = new PrefixTree();
+        unsorted.addSorted(shuffled);
+        Assert.assertEquals(oneByOne.toString(), unsorted.toString());
+
+        // Words with other characters are skipped, the rest are added
+        PrefixTree d = new PrefixTree();
+        Assert.assertEquals(2, d.addSorted(Arrays.asList("cat", "cat's", "catch", "caf\u00e9", "Dog")));
+        Assert.assertTrue(d.check("cat") && d.check("catch") && d.check("dog"));
+        Assert.assertFalse(d.checkPrefix("caf"));
+        Assert.assertEquals(Arrays.asList("cat", "catch"), d.complete("ca", 5));
+
+        d.delete("cat's"); // not in the tree, and not an error either
+        Assert.assertTrue(d.check("cat"));
+    }
+
+    @Test
+    public void testLoadParallel() throws IOException {
+        for (String file : new String[] {"input/small.txt", "input/large.txt"}) {
+            PrefixTree tree = new PrefixTree(file);
+            String expected = tree.toString();
+            Assert.assertEquals(expected, PrefixTree.loadParallel(file).toString());
+            Assert.assertEquals(tree.size(), PrefixTree.loadParallel(file).size());
+            ForkJoinPool pool = new ForkJoinPool(3);
+            Assert.assertEquals(expected, PrefixTree.loadParallel(file, pool).toString());
+            pool.shutdown();
+        }
+
+        Path file = Files.createTempFile("words", ".txt");
+        Files.write(file, Arrays.asList("apple 5", "app\t40", "", "ale", "apply  12", "Bee 7", "ale 3"));
+        PrefixTree expected = new PrefixTree(file.toString());
+        PrefixTree d = PrefixTree.loadParallel(file.toString());
+        Files.delete(file);
+        Assert.assertEquals(expected.toString(), d.toString());
+        Assert.assertEquals(expected.complete("", 10), d.complete("", 10));
+        Assert.assertTrue(d.check(""));
+        Assert.assertEquals("Five words and the empty word", 6, d.size());
+    }
+
+    @Test
+    public void testCursorAdvanceLetters() {
+        PrefixTree d = new PrefixTree();
+        d.add("queen");
+        d.add("quest");
+        TrieCursor cursor = d.cursor();
+        Assert.assertTrue(cursor.advance(new char[] {'Q', 'u'}));
+        Assert.assertEquals(2, cursor.depth());
+        Assert.assertFalse("The tree has \"que\" but not \"quen\"", cursor.advance(new char[] {'e', 'n'}));
+        Assert.assertEquals("A failed advance moves nowhere", 2, cursor.depth());
+        Assert.assertTrue(cursor.advance(new char[] {'e', 'e', 'n'}));
+        Assert.assertTrue(cursor.isWord());
+        cursor.back(3);
+        Assert.assertEquals('u', cursor.letter());
+        Assert.assertTrue(cursor.advance(new char[0]));
+        Assert.assertEquals(2, cursor.depth());
+    }
+
+    @Test
+    public void testChildrenGrowAndShrink() {
+        // Compare against a tree with a full array of children in every node, through random adds and deletes.
+        // The first four letters are a or b, so that the nodes below them, which keep only the children
+        // they have, get many children.
+        PrefixTree d = new PrefixTree();
+        UnicodePrefixTree expected = new UnicodePrefixTree(Alphabet.ENGLISH);
+        Random random = new Random(18);
+        List<String> words = new ArrayList<>();
+        for (int round = 0; round < 20000; round++) {
+            if (words.isEmpty() || random.nextInt(3) > 0) {
+                char[] word = new char[1 + random.nextInt(6)];
+                for (int i = 0; i < word.length; i++) {
+                    word[i] = (char) ('a' + random.nextInt(i < 4 ? 2 : 26));
+                }
+                d.add(new String(word));
+                expected.add(new String(word));
+                words.add(new String(word));
+            } else {
+                String word = words.remove(random.nextInt(words.size()));
+                d.delete(word);
+                expected.delete(word);
+            }
+            if (round % 1000 == 0) {
+                Assert.assertEquals(expected.toString(), d.toString());
+            }
+        }
+        Assert.assertEquals(expected.toString(), d.toString());
+        for (String word : words) {
+            Assert.assertEquals(expected.check(word), d.check(word));
+            Assert.assertEquals(expected.suggest(word + "q"), d.suggest(word + "q"));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+import dictionary.Dictionary;
+import dictionary.PrefixTree;
+import dictionary.RadixTree;
+import dictionary.TrieCursor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Runs every DictionaryTest against RadixTree, and checks that edges are split and merged correctly */
+public class RadixTreeTest extends DictionaryTest {
+
+    @Override
+    protected Dictionary newDictionary() {
+        return new RadixTree();
+    }
+
+    @Override
+    protected Dictionary newDictionary(String filename) {
+        return new RadixTree(filename);
+    }
+
+    @Test
+    public void testSplitAndMerge() {
+        RadixTree d = new RadixTree();
+        d.add("romane");
+        Assert.assertEquals(2, d.numNodes());
+        d.add("romanus");
+        d.add("romulus");
+        d.add("rom");
+        Assert.assertEquals(6, d.numNodes()); // root, rom, an, e, us, ulus
+        Assert.assertTrue(d.check("rom"));
+        Assert.assertFalse(d.check("roman"));
+        Assert.assertTrue(d.checkPrefix("roman"));
+        Assert.assertTrue(d.checkPrefix("romu"));
+        Assert.assertFalse(d.checkPrefix("romx"));
+        Assert.assertEquals("romane", d.suggest("romanz"));
+        Assert.assertEquals("romulus", d.suggest("romulan"));
+
+        d.delete("romane"); // "an" and "us" merge into "anus"
+        Assert.assertEquals(4, d.numNodes());
+        Assert.assertTrue(d.check("romanus"));
+        d.delete("rom"); // "rom" has two children, so it stays
+        Assert.assertEquals(4, d.numNodes());
+        d.delete("romulus"); // "rom" and "anus" merge into "romanus"
+        Assert.assertEquals(2, d.numNodes());
+        Assert.assertEquals("romanus", d.suggest("r"));
+    }
+
+    @Test
+    public void testFewerNodes() {
+        RadixTree d = new RadixTree("input/large.txt");
+        Assert.assertTrue("the large dictionary should take fewer nodes than letters", d.numNodes() < 120000);
+        Assert.assertEquals(new PrefixTree("input/large.txt").toString(), d.toString());
+    }
+
+    @Test
+    public void testRandomChanges() {
+        // Compare against PrefixTree through random adds and deletes, and walk the result with a cursor
+        RadixTree d = new RadixTree();
+        PrefixTree expected = new PrefixTree();
+        Random random = new Random(19);
+        List<String> words = new ArrayList<>();
+        for (int round = 0; round < 20000; round++) {
+            if (words.isEmpty() || random.nextInt(3) > 0) {
+                char[] word = new char[1 + random.nextInt(6)];
+                for (int i = 0; i < word.length; i++) {
+                    word[i] = (char) ('a' + random.nextInt(4));
+                }
+                d.add(new String(word));
+                expected.add(new String(word));
+                words.add(new String(word));
+            } else {
+                String word = words.remove(random.nextInt(words.size()));
+                d.delete(word);
+                expected.delete(word);
+            }
+            if (round % 500 == 0) {
+                Assert.assertEquals(expected.toString(), d.toString());
+                Assert.assertEquals(wordsOf(expected.cursor()), wordsOf(d.cursor()));
+            }
+        }
+        for (String word : words) {
+            Assert.assertEquals(expected.suggest(word + "d"), d.suggest(word + "d"));
+            Assert.assertEquals(expected.checkPrefix(word.substring(1)), d.checkPrefix(word.substring(1)));
+        }
+    }
+
+    /** Lists the words of a tree in cursor order */
+    private static List<String> wordsOf(TrieCursor cursor) {
+        List<String> words = new ArrayList<>();
+        StringBuilder path = new StringBuilder();
+        collect(cursor, path, words);
+        return words;
+    }
+
+    private static void collect(TrieCursor cursor, StringBuilder path, List<String> words) {
+        if (cursor.isWord()) {
+            words.add(path.toString());
+        }
+        if (cursor.firstChild()) {
+            do {
+                path.append(cursor.letter());
+                collect(cursor, path, words);
+                path.setLength(path.length() - 1);
+            } while (cursor.nextSibling());
+            cursor.back();
+        }
+    }
+}
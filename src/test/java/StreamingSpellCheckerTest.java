@@ -0,0 +1,84 @@
+import dictionary.PrefixTree;
+import dictionary.StreamingSpellChecker;
+import dictionary.StreamingSpellChecker.Misspelling;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** Tests of StreamingSpellChecker */
+public class StreamingSpellCheckerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testMisspellings() throws IOException {
+        Path file = folder.newFile("text.txt").toPath();
+        String text = "The President met the peple of teh comunity.\n"
+                + "Don't count 42 or café or x86, but DO count Educatoin!";
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        StreamingSpellChecker checker = new StreamingSpellChecker(new PrefixTree("input/small.txt"));
+        List<Misspelling> found = checker.check(file.toString());
+        List<String> words = new ArrayList<>();
+        for (Misspelling m : found) {
+            words.add(m.word());
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            Assert.assertEquals(m.word(), new String(bytes, (int) m.offset(), m.word().length(), StandardCharsets.US_ASCII));
+        }
+        Assert.assertTrue(words.contains("teh"));
+        Assert.assertTrue(words.contains("Educatoin"));
+        Assert.assertFalse(words.contains("Don't"));
+        Assert.assertFalse(words.contains("x86"));
+        Assert.assertFalse(words.contains("President"));
+        Assert.assertTrue(words.contains("The")); // not in the small dictionary
+        Misspelling educatoin = found.get(words.indexOf("Educatoin"));
+        Assert.assertEquals("education", educatoin.suggestion());
+    }
+
+    @Test
+    public void testSmallBatchesGiveTheSameResult() throws IOException, InterruptedException {
+        List<String> dictionary = Files.readAllLines(Paths.get("input/large.txt"));
+        Random random = new Random(20);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            String word = dictionary.get(random.nextInt(dictionary.size()));
+            if (random.nextInt(10) == 0) {
+                word = word.substring(1) + "q"; // probably misspelled
+            }
+            text.append(word).append(random.nextInt(8) == 0 ? ".\n" : " ");
+        }
+        text.append("supercalifragilisticexpialidocious"); // longer than a batch, at the very end
+        Path file = folder.newFile("large.txt").toPath();
+        Files.write(file, text.toString().getBytes(StandardCharsets.US_ASCII));
+
+        PrefixTree dict = new PrefixTree("input/large.txt");
+        List<Misspelling> expected = new ArrayList<>();
+        long expectedWords = new StreamingSpellChecker(dict).check(file.toString(), expected::add);
+        Assert.assertEquals(20001, expectedWords);
+
+        ExecutorService workers = Executors.newFixedThreadPool(3);
+        try {
+            for (int batchSize : new int[] {7, 16, 1000}) {
+                List<Misspelling> found = new ArrayList<>();
+                long words = new StreamingSpellChecker(dict, workers, 2, batchSize).check(file.toString(), found::add);
+                Assert.assertEquals(expectedWords, words);
+                Assert.assertEquals(expected.toString(), found.toString());
+            }
+        } finally {
+            workers.shutdown();
+        }
+    }
+}
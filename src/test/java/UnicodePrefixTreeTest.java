@@ -0,0 +1,89 @@
+import dictionary.Alphabet;
+import dictionary.Dictionary;
+import dictionary.PrefixTree;
+import dictionary.TrieCursor;
+import dictionary.UnicodePrefixTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Runs every DictionaryTest against UnicodePrefixTree with the English alphabet, and checks other alphabets */
+public class UnicodePrefixTreeTest extends DictionaryTest {
+
+    @Override
+    protected Dictionary newDictionary() {
+        return new UnicodePrefixTree(Alphabet.ENGLISH);
+    }
+
+    @Override
+    protected Dictionary newDictionary(String filename) {
+        return new UnicodePrefixTree(filename, Alphabet.ENGLISH);
+    }
+
+    @Test
+    public void testSparseChildrenMatchDense() {
+        UnicodePrefixTree sparse = new UnicodePrefixTree("input/large.txt", Alphabet.UNICODE);
+        Assert.assertEquals(new PrefixTree("input/large.txt").toString(), sparse.toString());
+        Assert.assertTrue(sparse.check("Zebra"));
+        Assert.assertEquals("probe", sparse.suggest("probem"));
+        sparse.delete("zebra");
+        Assert.assertFalse(sparse.check("zebra"));
+    }
+
+    @Test
+    public void testApostrophes() {
+        UnicodePrefixTree d = new UnicodePrefixTree(Alphabet.of("abcdefghijklmnopqrstuvwxyz'"));
+        d.add("don't");
+        d.add("Dont");
+        Assert.assertTrue(d.check("DON'T"));
+        Assert.assertTrue(d.checkPrefix("don'"));
+        Assert.assertFalse(d.check("don`t"));
+        Assert.assertEquals("dont", d.suggest("donx"));
+        try {
+            d.add("café");
+            Assert.fail("é is not in the alphabet");
+        } catch (IllegalArgumentException e) {
+            Assert.assertFalse(d.checkPrefix("caf"));
+        }
+    }
+
+    @Test
+    public void testOtherScripts() {
+        UnicodePrefixTree d = new UnicodePrefixTree(Alphabet.UNICODE);
+        String[] words = {"über", "straße", "École", "кот", "код", "γάτα"};
+        for (String word : words) {
+            d.add(word);
+        }
+        Assert.assertTrue(d.check("ÜBER"));
+        Assert.assertTrue(d.check("école"));
+        Assert.assertTrue(d.check("КОТ"));
+        Assert.assertTrue(d.checkPrefix("γά"));
+        Assert.assertEquals("код", d.suggest("кож"));
+
+        // Children are visited in alphabet order, here the order of the chars
+        TrieCursor cursor = d.cursor();
+        Assert.assertTrue(cursor.advance('К') && cursor.advance('о'));
+        Assert.assertTrue(cursor.firstChild());
+        Assert.assertEquals('д', cursor.letter());
+        Assert.assertTrue(cursor.nextSibling());
+        Assert.assertEquals('т', cursor.letter());
+        Assert.assertTrue(cursor.isWord());
+        Assert.assertFalse(cursor.nextSibling());
+
+        d.delete("код");
+        Assert.assertFalse(d.check("код"));
+        Assert.assertTrue(d.check("кот"));
+    }
+
+    @Test
+    public void testAlphabetOrder() {
+        Alphabet german = Alphabet.of("abcdefghijklmnopqrstuvwxyzäöüß");
+        Assert.assertEquals(30, german.size());
+        Assert.assertEquals(26, german.index('Ä'));
+        Assert.assertEquals(-1, german.index('é'));
+        UnicodePrefixTree d = new UnicodePrefixTree(german);
+        d.add("zäh");
+        d.add("zah");
+        Assert.assertEquals("zah", d.suggest("zz"));
+        Assert.assertTrue(d.toString().indexOf("a") < d.toString().indexOf("ä"));
+    }
+}
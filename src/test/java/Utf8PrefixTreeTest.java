@@ -0,0 +1,47 @@
+import dictionary.Dictionary;
+import dictionary.Utf8PrefixTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Runs every DictionaryTest against Utf8PrefixTree, and checks words outside ASCII */
+public class Utf8PrefixTreeTest extends DictionaryTest {
+
+    @Override
+    protected Dictionary newDictionary() {
+        return new Utf8PrefixTree();
+    }
+
+    @Override
+    protected Dictionary newDictionary(String filename) {
+        return new Utf8PrefixTree(filename);
+    }
+
+    @Test
+    public void testAnyLanguage() {
+        Utf8PrefixTree d = new Utf8PrefixTree();
+        String[] words = {"café", "cafe", "don't", "кот", "猫", "😀ok"};
+        for (String word : words) {
+            d.add(word);
+        }
+        for (String word : words) {
+            Assert.assertTrue(word, d.check(word));
+        }
+        Assert.assertTrue(d.check("CAFÉ"));
+        Assert.assertTrue(d.checkPrefix("caf"));
+        Assert.assertFalse(d.check("caf"));
+        Assert.assertEquals("cafe", d.suggest("cafx"));
+        Assert.assertEquals("café", d.suggest("cafè")); // shares the first byte of è
+        Assert.assertEquals("кот", d.suggest("кит"));
+        Assert.assertTrue(d.toString().contains("\\xC3"));
+
+        d.delete("café");
+        Assert.assertFalse(d.check("café"));
+        Assert.assertTrue(d.check("cafe"));
+        Assert.assertEquals("cafe", d.suggest("café"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoneSurrogate() {
+        new Utf8PrefixTree().add("ab\ud83d");
+    }
+}
@@ -0,0 +1,113 @@
+import dictionary.Dictionary;
+import dictionary.PersistentPrefixTree;
+import dictionary.VersionedDictionary;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/** Runs every DictionaryTest against VersionedDictionary, and checks snapshots and atomic batches */
+public class VersionedDictionaryTest extends DictionaryTest {
+
+    @Override
+    protected Dictionary newDictionary() {
+        return new VersionedDictionary();
+    }
+
+    @Override
+    protected Dictionary newDictionary(String filename) {
+        return new VersionedDictionary(filename);
+    }
+
+    @Test
+    public void testOldVersionsDoNotChange() {
+        PersistentPrefixTree v1 = new PersistentPrefixTree().with("cat").with("car").with("cart").with("dog");
+        String before = v1.toString();
+        PersistentPrefixTree v2 = v1.with("cattle").without("cat").without("dog");
+
+        Assert.assertEquals(before, v1.toString());
+        Assert.assertTrue(v1.check("cat"));
+        Assert.assertFalse(v1.check("cattle"));
+        Assert.assertTrue(v2.check("cattle"));
+        Assert.assertFalse(v2.check("cat"));
+        Assert.assertSame(v1, v1.with("cat"));
+        Assert.assertSame(v1, v1.without("zebra"));
+        Assert.assertFalse(v2.checkPrefix("d"));
+        Assert.assertEquals(before, v2.with("cat").with("dog").without("cattle").toString());
+        Assert.assertEquals(4, v1.size());
+        Assert.assertEquals(3, v2.size());
+    }
+
+    @Test
+    public void testSnapshot() {
+        VersionedDictionary d = new VersionedDictionary("input/small.txt");
+        PersistentPrefixTree snapshot = d.snapshot();
+        d.delete("time");
+        d.add("zebra");
+        Assert.assertTrue(snapshot.check("time"));
+        Assert.assertFalse(snapshot.check("zebra"));
+        Assert.assertFalse(d.check("time"));
+        Assert.assertTrue(d.check("zebra"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testPersistentTreeIsImmutable() {
+        new PersistentPrefixTree().add("cat");
+    }
+
+    @Test
+    public void testBatchIsAtomic() throws InterruptedException {
+        VersionedDictionary d = new VersionedDictionary("input/small.txt");
+        String[] batch = {"timer", "peoples", "presidents", "educational", "zebra"};
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> error = new AtomicReference<>();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    PersistentPrefixTree snapshot = d.snapshot();
+                    int found = 0;
+                    for (String word : batch) {
+                        if (snapshot.check(word)) {
+                            found++;
+                        }
+                    }
+                    if (found != 0 && found != batch.length) {
+                        error.set("saw " + found + " words of a batch of " + batch.length);
+                    }
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        Thread writer = new Thread(() -> {
+            for (int round = 0; round < 2000; round++) {
+                d.update(tree -> {
+                    for (String word : batch) {
+                        tree = tree.with(word);
+                    }
+                    return tree;
+                });
+                d.update(tree -> {
+                    for (String word : batch) {
+                        tree = tree.without(word);
+                    }
+                    return tree;
+                });
+            }
+        });
+        writer.start();
+        writer.join();
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        Assert.assertNull(error.get());
+        Assert.assertEquals(new VersionedDictionary("input/small.txt").toString(), d.toString());
+    }
+}